@@ -0,0 +1,75 @@
+package de.enricopilz.constraints.benchmark;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Puzzles of the integration tests, read from the test resources.
+ */
+public final class Corpora {
+
+    public static final String EULER = "euler";
+
+    public static final String SUDOKU17 = "sudoku17";
+
+    private Corpora() {
+    }
+
+    /** @param limit maximal number of sudokus of the corpus */
+    public static List<String> sudokus(final String corpus, final int limit) {
+        switch (corpus) {
+            case EULER:
+                return euler(limit);
+            case SUDOKU17:
+                return lines("sudoku17", limit);
+            default:
+                throw new IllegalArgumentException("Unknown corpus: " + corpus);
+        }
+    }
+
+    /** problem definition from https://projecteuler.net/project/resources/p096_sudoku.txt */
+    private static List<String> euler(final int limit) {
+        final List<String> lines = lines("p096_sudoku.txt", Integer.MAX_VALUE);
+        final List<String> sudokus = new ArrayList<>();
+        // "Grid xx" followed by 9 lines
+        for (int i = 0; i + 9 < lines.size() && sudokus.size() < limit; i += 10) {
+            sudokus.add(String.join("", lines.subList(i + 1, i + 10)));
+        }
+        return sudokus;
+    }
+
+    private static List<String> lines(final String resource, final int limit) {
+        final List<String> lines = new ArrayList<>();
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(
+                Objects.requireNonNull(Corpora.class.getClassLoader().getResourceAsStream(resource)), StandardCharsets.US_ASCII))) {
+            String line;
+            while ((line = reader.readLine()) != null && lines.size() < limit) {
+                if (!line.isBlank()) {
+                    lines.add(line);
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return lines;
+    }
+
+    /** row and column numbers of the nonograms of NonogramIT */
+    public static final Map<String, int[][][]> NONOGRAMS = Map.of(
+            "wikipediaP", new int[][][]{
+                    {{}, {4}, {6}, {2, 2}, {2, 2}, {6}, {4}, {2}, {2}, {2}, {}},
+                    {{}, {9}, {9}, {2, 2}, {2, 2}, {4}, {4}, {}}},
+            "randomPattern", new int[][][]{
+                    {{3, 4}, {2, 5}, {2, 1, 1, 1, 3, 1}, {6, 5, 1}, {8, 6}, {9}, {6}, {3, 1}, {2}, {1, 2}, {2, 2}, {4, 1}, {1, 1, 7}, {1, 9}, {12}},
+                    {{6, 3}, {6, 1}, {1, 3, 5}, {4, 3, 2}, {4, 4}, {6, 4}, {4, 3}, {7, 3}, {1, 1, 2, 3}, {5, 1, 5}, {5, 3, 3}, {5, 2, 1}, {1, 1}, {1, 1}, {2, 1}}},
+            "chadBirch", new int[][][]{
+                    {{15}, {4, 5}, {2, 4}, {1, 3}, {2}, {2}, {2, 4, 3}, {2, 6, 2}, {2, 1, 6, 2}, {2, 1, 1, 4, 2}, {1, 1}, {1, 3, 2, 1}, {2, 2, 1, 2, 1}, {3, 3, 2, 1}, {9}},
+                    {{4, 4}, {3, 1, 2, 3}, {2, 1, 2, 2}, {2, 1, 1}, {1, 4, 2}, {1, 3}, {1, 8}, {1, 3, 1, 1}, {1, 4, 2, 1}, {1, 4}, {2, 4, 3}, {3, 3, 3}, {4, 1}, {10, 3}, {10}}});
+}
@@ -0,0 +1,45 @@
+package de.enricopilz.constraints.benchmark;
+
+import de.enricopilz.constraints.api.SolverFactory.SolverEnum;
+import de.enricopilz.constraints.api.representation.Sudoku;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Sudokus per second over a whole corpus, including the model building.
+ * Every invocation solves {@link #LIMIT} sudokus, euler has only 50 of them and is solved twenty times.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 2, jvmArgsAppend = {"-Xms1g", "-Xmx1g"})
+public class CorpusBenchmark {
+
+    private static final int LIMIT = 1000;
+
+    @Param({Corpora.EULER, Corpora.SUDOKU17})
+    public String corpus;
+
+    @Param({"DFS", "PARALLEL_DFS", "DLX"})
+    public SolverEnum solver;
+
+    private List<String> sudokus;
+
+    @Setup
+    public void setUp() {
+        sudokus = Corpora.sudokus(corpus, LIMIT);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(LIMIT)
+    public void solveCorpus(final Blackhole blackhole) {
+        for (int i = 0; i < LIMIT; i++) {
+            blackhole.consume(new Sudoku(sudokus.get(i % sudokus.size())).solve(solver));
+        }
+    }
+}
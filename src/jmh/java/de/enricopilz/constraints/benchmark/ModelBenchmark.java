@@ -0,0 +1,37 @@
+package de.enricopilz.constraints.benchmark;
+
+import de.enricopilz.constraints.api.Problem;
+import de.enricopilz.constraints.api.representation.Sudoku;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Building and compiling the problem of a sudoku, without solving it.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 2, jvmArgsAppend = {"-Xms1g", "-Xmx1g"})
+public class ModelBenchmark {
+
+    @Param({Corpora.EULER, Corpora.SUDOKU17})
+    public String corpus;
+
+    @Param({"0"})
+    public int index;
+
+    private Sudoku sudoku;
+
+    @Setup
+    public void setUp() {
+        sudoku = new Sudoku(Corpora.sudokus(corpus, index + 1).get(index));
+    }
+
+    @Benchmark
+    public Problem<Integer> buildModel() {
+        return sudoku.toProblem();
+    }
+}
@@ -0,0 +1,33 @@
+package de.enricopilz.constraints.benchmark;
+
+import de.enricopilz.constraints.solver.NonogramSolver;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 2, jvmArgsAppend = {"-Xms1g", "-Xmx1g"})
+public class NonogramBenchmark {
+
+    @Param({"wikipediaP", "randomPattern", "chadBirch"})
+    public String nonogram;
+
+    private int[][] rowNumbers;
+
+    private int[][] colNumbers;
+
+    @Setup
+    public void setUp() {
+        rowNumbers = Corpora.NONOGRAMS.get(nonogram)[0];
+        colNumbers = Corpora.NONOGRAMS.get(nonogram)[1];
+    }
+
+    @Benchmark
+    public String solve() {
+        return new NonogramSolver().solve(rowNumbers, colNumbers);
+    }
+}
@@ -0,0 +1,52 @@
+package de.enricopilz.constraints.benchmark;
+
+import de.enricopilz.constraints.api.Problem;
+import de.enricopilz.constraints.api.Solution;
+import de.enricopilz.constraints.api.SolverFactory;
+import de.enricopilz.constraints.api.SolverFactory.SolverEnum;
+import de.enricopilz.constraints.api.representation.Sudoku;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Latency of the search for one sudoku, the model is built once.
+ * The default is the hardest sudoku of the sudoku17 corpus for DFS with the default configuration.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 2, jvmArgsAppend = {"-Xms1g", "-Xmx1g"})
+public class SudokuBenchmark {
+
+    @Param({Corpora.SUDOKU17})
+    public String corpus;
+
+    // line in the corpus
+    @Param({"4236"})
+    public int index;
+
+    @Param({"DFS", "PARALLEL_DFS", "DLX"})
+    public SolverEnum solver;
+
+    private Problem<Integer> problem;
+
+    @Setup
+    public void setUp() {
+        problem = new Sudoku(Corpora.sudokus(corpus, index + 1).get(index)).toProblem();
+    }
+
+    @Benchmark
+    public Solution<Integer> firstSolution() {
+        return SolverFactory.constructSolver(solver, problem).iterator().next();
+    }
+
+    /** the sudoku has exactly one solution, so this includes the proof of uniqueness */
+    @Benchmark
+    public List<Solution<Integer>> allSolutions() {
+        return SolverFactory.constructSolver(solver, problem).solve();
+    }
+}
@@ -0,0 +1,48 @@
+package de.enricopilz.constraints.solver;
+
+import de.enricopilz.constraints.UnsatisfiableException;
+import de.enricopilz.constraints.api.Problem;
+import de.enricopilz.constraints.api.representation.Sudoku;
+import de.enricopilz.constraints.benchmark.Corpora;
+import de.enricopilz.constraints.description.Variables;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Only the initial propagation to the fixpoint, without any guess.
+ * Lives in the solver package to reach the propagation engine.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 2, jvmArgsAppend = {"-Xms1g", "-Xmx1g"})
+public class PropagationBenchmark {
+
+    @Param({Corpora.EULER, Corpora.SUDOKU17})
+    public String corpus;
+
+    @Param({"0"})
+    public int index;
+
+    private Problem<Integer> problem;
+
+    private PropagationEngine<Integer> engine;
+
+    @Setup
+    public void setUp() {
+        problem = new Sudoku(Corpora.sudokus(corpus, index + 1).get(index)).toProblem();
+        engine = new PropagationEngine<>(problem.getCompiled());
+    }
+
+    @Benchmark
+    public Variables<Integer> propagate() throws UnsatisfiableException {
+        final Variables<Integer> variables = problem.getCompiled().newVariables();
+        engine.attach(variables, null);
+        engine.scheduleAll();
+        engine.propagate();
+        return variables;
+    }
+}
@@ -6,4 +6,9 @@ public class UnsatisfiableException extends Exception {
     public UnsatisfiableException(String message) {
         super(message);
     }
+
+    /** without stack trace, cheap enough to signal failures within the search */
+    protected UnsatisfiableException(String message, boolean writableStackTrace) {
+        super(message, null, false, writableStackTrace);
+    }
 }
@@ -0,0 +1,72 @@
+package de.enricopilz.constraints.api;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Results of a batch with throughput and latency of the single instances.
+ * R : Type of the result of one instance
+ */
+public class BatchResult<R> {
+
+    private final List<R> results;
+
+    // solving time of each instance, sorted
+    private final long[] latencies;
+
+    private final Duration wallTime;
+
+    BatchResult(final List<R> results, final long[] latencies, final Duration wallTime) {
+        this.results = List.copyOf(results);
+        this.latencies = latencies.clone();
+        Arrays.sort(this.latencies);
+        this.wallTime = wallTime;
+    }
+
+    /** in input order if requested, otherwise in the order the instances were finished */
+    public List<R> getResults() {
+        return results;
+    }
+
+    public int size() {
+        return results.size();
+    }
+
+    public Duration getWallTime() {
+        return wallTime;
+    }
+
+    /** instances per second */
+    public double getThroughput() {
+        final long nanos = wallTime.toNanos();
+        return nanos == 0 ? 0.0 : results.size() * 1e9 / nanos;
+    }
+
+    /**
+     * Solving time of a single instance, without waiting in the queue of the executor.
+     * @param percentile 0 to 100, e.g. 50 for the median, 99 for the tail
+     */
+    public Duration getLatency(final double percentile) {
+        if (percentile < 0 || percentile > 100) {
+            throw new IllegalArgumentException("Percentile must be between 0 and 100: " + percentile);
+        }
+        if (latencies.length == 0) {
+            return Duration.ZERO;
+        }
+        // nearest rank
+        final int rank = (int) Math.ceil(percentile / 100 * latencies.length);
+        return Duration.ofNanos(latencies[Math.max(rank, 1) - 1]);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%d instances in %d ms, %.1f/s, latency p50=%.3f ms, p90=%.3f ms, p99=%.3f ms, max=%.3f ms",
+                size(), wallTime.toMillis(), getThroughput(),
+                millis(getLatency(50)), millis(getLatency(90)), millis(getLatency(99)), millis(getLatency(100)));
+    }
+
+    private static double millis(final Duration duration) {
+        return duration.toNanos() / 1e6;
+    }
+}
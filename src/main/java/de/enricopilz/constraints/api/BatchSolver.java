@@ -0,0 +1,192 @@
+package de.enricopilz.constraints.api;
+
+import de.enricopilz.constraints.api.SolverFactory.SolverEnum;
+import de.enricopilz.constraints.api.representation.Sudoku;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Solves many independent problems on an executor, each problem with its own sequential solver.
+ * Virtual threads can be used by setting an executor like {@code Executors.newVirtualThreadPerTaskExecutor()}.
+ */
+public class BatchSolver {
+
+    // instance with its solving time
+    private static class Timed<R> {
+        private final R result;
+        private final long nanos;
+
+        Timed(final R result, final long nanos) {
+            this.result = result;
+            this.nanos = nanos;
+        }
+    }
+
+    private final SolverEnum solverEnum;
+
+    private final SolverConfiguration configuration;
+
+    // null: a pool with one thread per processor for each batch
+    private final Executor executor;
+
+    private final boolean ordered;
+
+    private final int maxPending;
+
+    private BatchSolver(final Builder builder) {
+        this.solverEnum = builder.solverEnum;
+        this.configuration = builder.configuration;
+        this.executor = builder.executor;
+        this.ordered = builder.ordered;
+        this.maxPending = builder.maxPending;
+    }
+
+    /** all solutions of each problem */
+    public <S> BatchResult<List<Solution<S>>> solveProblems(final Iterable<Problem<S>> problems) {
+        return solveProblems(StreamSupport.stream(problems.spliterator(), false));
+    }
+
+    /** all solutions of each problem */
+    public <S> BatchResult<List<Solution<S>>> solveProblems(final Stream<Problem<S>> problems) {
+        return solve(problems, problem -> SolverFactory.constructSolver(solverEnum, problem, configuration).solve());
+    }
+
+    /** all solutions of each standard 9x9 sudoku, see {@link Sudoku} */
+    public BatchResult<List<String>> solveSudokus(final Iterable<String> sudokus) {
+        return solveSudokus(StreamSupport.stream(sudokus.spliterator(), false));
+    }
+
+    /** all solutions of each standard 9x9 sudoku, see {@link Sudoku} */
+    public BatchResult<List<String>> solveSudokus(final Stream<String> sudokus) {
+        return solve(sudokus, sudoku -> new Sudoku(sudoku).solve(solverEnum, configuration));
+    }
+
+    private <T, R> BatchResult<R> solve(final Stream<T> instances, final Function<T, R> task) {
+        final ExecutorService ownExecutor = executor == null
+                ? Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors()) : null;
+        final Executor usedExecutor = executor == null ? ownExecutor : executor;
+        // the input is only read as fast as the executor solves it
+        final Semaphore pending = new Semaphore(maxPending);
+        final List<CompletableFuture<Timed<R>>> futures = new ArrayList<>();
+        final Queue<Timed<R>> finished = new ConcurrentLinkedQueue<>();
+        final long start = System.nanoTime();
+        // after the first exception the batch fails anyway, so no more instances are submitted
+        final AtomicBoolean failed = new AtomicBoolean();
+        try {
+            final Iterator<T> iterator = instances.iterator();
+            while (!failed.get() && iterator.hasNext()) {
+                final T instance = iterator.next();
+                pending.acquireUninterruptibly();
+                if (failed.get()) {
+                    pending.release();
+                    break;
+                }
+                try {
+                    futures.add(CompletableFuture.supplyAsync(() -> {
+                        try {
+                            final long solving = System.nanoTime();
+                            final R result = task.apply(instance);
+                            final Timed<R> timed = new Timed<>(result, System.nanoTime() - solving);
+                            finished.add(timed);
+                            return timed;
+                        } catch (RuntimeException | Error e) {
+                            failed.set(true);
+                            throw e;
+                        } finally {
+                            pending.release();
+                        }
+                    }, usedExecutor));
+                } catch (RejectedExecutionException e) {
+                    pending.release();
+                    throw e;
+                }
+            }
+            CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[0])).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
+        } finally {
+            if (ownExecutor != null) {
+                ownExecutor.shutdown();
+            }
+        }
+        final Duration wallTime = Duration.ofNanos(System.nanoTime() - start);
+
+        final List<Timed<R>> timedResults = new ArrayList<>(futures.size());
+        if (ordered) {
+            futures.forEach(future -> timedResults.add(future.join()));
+        } else {
+            timedResults.addAll(finished);
+        }
+        final List<R> results = new ArrayList<>(timedResults.size());
+        final long[] latencies = new long[timedResults.size()];
+        for (int i = 0; i < latencies.length; i++) {
+            results.add(timedResults.get(i).result);
+            latencies[i] = timedResults.get(i).nanos;
+        }
+        return new BatchResult<>(results, latencies, wallTime);
+    }
+
+    public static class Builder {
+
+        private SolverEnum solverEnum = SolverEnum.DFS;
+
+        private SolverConfiguration configuration = SolverConfiguration.defaults();
+
+        private Executor executor = null;
+
+        private boolean ordered = true;
+
+        private int maxPending = 1024;
+
+        public BatchSolver build() {
+            return new BatchSolver(this);
+        }
+
+        /** solver for each instance, the instances already run in parallel */
+        public void setSolverEnum(final SolverEnum solverEnum) {
+            this.solverEnum = solverEnum;
+        }
+
+        /** used for each instance, e.g. a time limit bounds the latency */
+        public void setConfiguration(final SolverConfiguration configuration) {
+            this.configuration = configuration;
+        }
+
+        /** default is a pool with one thread per processor, an executor set here is not shut down */
+        public void setExecutor(final Executor executor) {
+            this.executor = executor;
+        }
+
+        /** results in input order, otherwise in the order the instances were finished */
+        public void setOrdered(final boolean ordered) {
+            this.ordered = ordered;
+        }
+
+        /** maximal number of instances submitted to the executor, but not finished */
+        public void setMaxPending(final int maxPending) {
+            if (maxPending < 1) {
+                throw new IllegalArgumentException("Max pending must be positive: " + maxPending);
+            }
+            this.maxPending = maxPending;
+        }
+    }
+}
@@ -0,0 +1,130 @@
+package de.enricopilz.constraints.api;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Choose rows, so that every primary column is covered exactly once and every secondary column at most once.
+ * The columns are numbered densely, the primary ones first.
+ * <p>
+ * R : Type of the row labels
+ */
+public class ExactCoverProblem<R> {
+
+    private final int primaryColumns;
+
+    private final int secondaryColumns;
+
+    private final List<R> rows;
+
+    // column numbers of each row
+    private final int[][] columnsOfRow;
+
+    private ExactCoverProblem(final int primaryColumns, final int secondaryColumns, final List<R> rows,
+                              final int[][] columnsOfRow) {
+        this.primaryColumns = primaryColumns;
+        this.secondaryColumns = secondaryColumns;
+        this.rows = List.copyOf(rows);
+        this.columnsOfRow = columnsOfRow;
+    }
+
+    /**
+     * Problem with already numbered columns, without the checks of the builder.
+     * @param columnsOfRow for each row the column numbers, primary columns are 0..primaryColumns-1
+     */
+    public static <R> ExactCoverProblem<R> of(final int primaryColumns, final int secondaryColumns, final List<R> rows,
+                                              final int[][] columnsOfRow) {
+        if (rows.size() != columnsOfRow.length) {
+            throw new IllegalArgumentException("Number of rows " + rows.size() + " does not match columns of " + columnsOfRow.length + " rows.");
+        }
+        for (int[] columns : columnsOfRow) {
+            for (int column : columns) {
+                if (column < 0 || column >= primaryColumns + secondaryColumns) {
+                    throw new IllegalArgumentException("Illegal column: " + column);
+                }
+            }
+        }
+        return new ExactCoverProblem<>(primaryColumns, secondaryColumns, rows, columnsOfRow.clone());
+    }
+
+    private ExactCoverProblem(final Builder<R> builder) {
+        final Map<Object, Integer> numbers = new HashMap<>();
+        for (Object column : builder.primaryColumns) {
+            numbers.put(column, numbers.size());
+        }
+        for (Object column : builder.secondaryColumns) {
+            numbers.put(column, numbers.size());
+        }
+        this.primaryColumns = builder.primaryColumns.size();
+        this.secondaryColumns = builder.secondaryColumns.size();
+        this.rows = List.copyOf(builder.rows);
+        this.columnsOfRow = new int[rows.size()][];
+        for (int row = 0; row < columnsOfRow.length; row++) {
+            columnsOfRow[row] = builder.columnsOfRows.get(row).stream().mapToInt(numbers::get).toArray();
+        }
+    }
+
+    public int getPrimaryColumns() {
+        return primaryColumns;
+    }
+
+    public int getSecondaryColumns() {
+        return secondaryColumns;
+    }
+
+    public List<R> getRows() {
+        return rows;
+    }
+
+    public int[] getColumnsOfRow(final int row) {
+        return columnsOfRow[row];
+    }
+
+    public static class Builder<R> {
+
+        private final Set<Object> primaryColumns = new LinkedHashSet<>();
+
+        private final Set<Object> secondaryColumns = new LinkedHashSet<>();
+
+        private final List<R> rows = new ArrayList<>();
+
+        private final List<Set<Object>> columnsOfRows = new ArrayList<>();
+
+        public ExactCoverProblem<R> build() {
+            return new ExactCoverProblem<>(this);
+        }
+
+        /** has to be covered exactly once */
+        public void addPrimaryColumn(final Object column) {
+            checkColumnIsNew(column);
+            primaryColumns.add(column);
+        }
+
+        /** may be covered at most once */
+        public void addSecondaryColumn(final Object column) {
+            checkColumnIsNew(column);
+            secondaryColumns.add(column);
+        }
+
+        public void addRow(final R row, final Collection<?> columns) {
+            for (Object column : columns) {
+                if (!primaryColumns.contains(column) && !secondaryColumns.contains(column)) {
+                    throw new IllegalArgumentException("Illegal column in row " + row + ": " + column);
+                }
+            }
+            rows.add(row);
+            columnsOfRows.add(new LinkedHashSet<>(columns));
+        }
+
+        private void checkColumnIsNew(final Object column) {
+            if (primaryColumns.contains(column) || secondaryColumns.contains(column)) {
+                throw new IllegalArgumentException("Column already exists: " + column);
+            }
+        }
+    }
+}
@@ -1,13 +1,26 @@
 package de.enricopilz.constraints.api;
 
+import de.enricopilz.constraints.description.CompiledProblem;
+import de.enricopilz.constraints.description.Objective;
 import de.enricopilz.constraints.description.Variable;
 import de.enricopilz.constraints.description.Variables;
+import de.enricopilz.constraints.description.constraint.AllDifferentConstraint;
 import de.enricopilz.constraints.description.constraint.BiConstraint;
+import de.enricopilz.constraints.description.constraint.Constraint;
+import de.enricopilz.constraints.description.constraint.IntBinaryPredicate;
+import de.enricopilz.constraints.description.constraint.LinearConstraint;
+import de.enricopilz.constraints.description.constraint.LinearConstraint.Relation;
+import de.enricopilz.constraints.description.constraint.NaryConstraint;
+import de.enricopilz.constraints.description.constraint.NaryConstraint.Propagation;
 import de.enricopilz.constraints.description.constraint.SimConstraint;
+import de.enricopilz.constraints.description.constraint.TableConstraint;
+import de.enricopilz.constraints.description.domain.Domain;
 
 import java.util.*;
 import java.util.function.BiFunction;
 import java.util.function.Function;
+import java.util.function.IntPredicate;
+import java.util.function.Predicate;
 
 public class Problem<S> {
 
@@ -17,10 +30,36 @@ public class Problem<S> {
 
     private final Set<BiConstraint<S>> biConstraints;
 
-    private Problem(final Variables<S> variables, final Set<SimConstraint<S>> simConstraints, final Set<BiConstraint<S>> biConstraints) {
+    private final Set<AllDifferentConstraint<S>> allDifferentConstraints;
+
+    private final Set<TableConstraint<S>> tableConstraints;
+
+    private final Set<NaryConstraint<S>> naryConstraints;
+
+    private final Set<LinearConstraint<S>> linearConstraints;
+
+    private final Objective<S> objective;
+
+    private final CompiledProblem<S> compiled;
+
+    private Problem(final Variables<S> variables, final Set<SimConstraint<S>> simConstraints, final Set<BiConstraint<S>> biConstraints,
+                    final Set<AllDifferentConstraint<S>> allDifferentConstraints, final Set<TableConstraint<S>> tableConstraints,
+                    final Set<NaryConstraint<S>> naryConstraints, final Set<LinearConstraint<S>> linearConstraints,
+                    final Objective<S> objective) {
         this.variables = variables;
         this.simConstraints = simConstraints;
         this.biConstraints = biConstraints;
+        this.allDifferentConstraints = allDifferentConstraints;
+        this.tableConstraints = tableConstraints;
+        this.naryConstraints = naryConstraints;
+        this.linearConstraints = linearConstraints;
+        this.objective = objective;
+        final List<Constraint<S>> constraints = new ArrayList<>(biConstraints);
+        constraints.addAll(allDifferentConstraints);
+        constraints.addAll(tableConstraints);
+        constraints.addAll(naryConstraints);
+        constraints.addAll(linearConstraints);
+        this.compiled = new CompiledProblem<>(variables, simConstraints, constraints, objective);
     }
 
     public Variables<S> getVariables() {
@@ -35,6 +74,32 @@ public class Problem<S> {
         return biConstraints;
     }
 
+    public Set<AllDifferentConstraint<S>> getAllDifferentConstraints() {
+        return allDifferentConstraints;
+    }
+
+    public Set<TableConstraint<S>> getTableConstraints() {
+        return tableConstraints;
+    }
+
+    public Set<NaryConstraint<S>> getNaryConstraints() {
+        return naryConstraints;
+    }
+
+    public Set<LinearConstraint<S>> getLinearConstraints() {
+        return linearConstraints;
+    }
+
+    /** minimized or maximized by {@link Solver#optimize()} */
+    public Optional<Objective<S>> getObjective() {
+        return Optional.ofNullable(objective);
+    }
+
+    /** dense int indexed model, shared by all solvers */
+    public CompiledProblem<S> getCompiled() {
+        return compiled;
+    }
+
     public static class Builder<S> {
 
         private Map<S, Variable<S>> variables = new HashMap<>();
@@ -43,12 +108,25 @@ public class Problem<S> {
 
         private Set<BiConstraint<S>> biConstraints = new HashSet<>();
 
+        private Set<AllDifferentConstraint<S>> allDifferentConstraints = new HashSet<>();
+
+        private Set<TableConstraint<S>> tableConstraints = new HashSet<>();
+
+        private Set<NaryConstraint<S>> naryConstraints = new HashSet<>();
+
+        private Set<LinearConstraint<S>> linearConstraints = new HashSet<>();
+
+        private Objective<S> objective;
+
         public Problem<S> build() {
-            return new Problem<>(new Variables<>(variables), simConstraints, biConstraints);
+            return new Problem<>(new Variables<>(variables), simConstraints, biConstraints, allDifferentConstraints, tableConstraints,
+                    naryConstraints, linearConstraints, objective);
         }
 
         public void addVariable(final S symbol, final List<Integer> possibilities) {
-            variables.put(symbol, new Variable<>(symbol, possibilities));
+            final Variable<S> existing = variables.get(symbol);
+            final int index = existing == null ? variables.size() : existing.getIndex();
+            variables.put(symbol, new Variable<>(index, symbol, possibilities));
         }
 
         public void addVariables(final List<S> symbols, final List<Integer> possibilities) {
@@ -57,29 +135,127 @@ public class Problem<S> {
             }
         }
 
+        /** all values from min to max, without listing them, e.g. for large time horizons */
+        public void addVariable(final S symbol, final int min, final int max) {
+            final Variable<S> existing = variables.get(symbol);
+            final int index = existing == null ? variables.size() : existing.getIndex();
+            variables.put(symbol, new Variable<>(index, symbol, Domain.range(min, max)));
+        }
+
+        public void addVariables(final List<S> symbols, final int min, final int max) {
+            for (S symbol : symbols) {
+                addVariable(symbol, min, max);
+            }
+        }
+
         public void addConstraint(final S symbol, final Function<Integer, Boolean> f) {
+            addIntConstraint(symbol, f::apply);
+        }
+
+        public void addConstraint(final S a, final S b, final BiFunction<Integer, Integer, Boolean> f) {
+            addIntConstraint(a, b, f::apply);
+        }
+
+        /** same as addConstraint, but the solver checks it without boxing */
+        public void addIntConstraint(final S symbol, final IntPredicate f) {
             checkSymbolExists(symbol);
             simConstraints.add(new SimConstraint<>(symbol, f));
         }
 
-        public void addConstraint(final S a, final S b, final BiFunction<Integer, Integer, Boolean> f) {
+        /** same as addConstraint, but the solver checks it without boxing */
+        public void addIntConstraint(final S a, final S b, final IntBinaryPredicate f) {
             checkSymbolExists(a);
             checkSymbolExists(b);
             biConstraints.add(new BiConstraint<>(a, b, f));
         }
 
+        /** one global constraint, instead of pairwise inequalities */
         public void addAllDifferentConstraint(final List<S> symbols) {
             for (final S s : symbols) {
                 checkSymbolExists(s);
             }
-            for (final S a : symbols) {
-                for (final S b : symbols) {
-                    if (a.hashCode() <= b.hashCode()) {
-                        continue;
-                    }
-                    biConstraints.add(new BiConstraint<>(a, b, (x, y) -> !x.equals(y)));
-                }
+            allDifferentConstraints.add(new AllDifferentConstraint<>(new ArrayList<>(new LinkedHashSet<>(symbols))));
+        }
+
+        /** the values of the symbols must be one of the tuples, each tuple has one value per symbol */
+        public void addTableConstraint(final List<S> symbols, final Collection<int[]> allowedTuples) {
+            addTable(symbols, allowedTuples, true);
+        }
+
+        /** the values of the symbols must not be one of the tuples */
+        public void addForbiddenTuplesConstraint(final List<S> symbols, final Collection<int[]> forbiddenTuples) {
+            addTable(symbols, forbiddenTuples, false);
+        }
+
+        /** the predicate gets the values in the order of the symbols, checked with forward checking */
+        public void addNaryConstraint(final List<S> symbols, final Predicate<int[]> f) {
+            addNaryConstraint(symbols, f, Propagation.FORWARD_CHECKING);
+        }
+
+        public void addNaryConstraint(final List<S> symbols, final Predicate<int[]> f, final Propagation propagation) {
+            for (final S s : symbols) {
+                checkSymbolExists(s);
+            }
+            if (new HashSet<>(symbols).size() != symbols.size()) {
+                throw new IllegalArgumentException("Variables of a constraint must be different: " + symbols);
+            }
+            naryConstraints.add(new NaryConstraint<>(symbols, f, propagation));
+        }
+
+        /** x1 + ... + xn (=, <=, >=) value, propagated on the bounds of the variables */
+        public void addSumConstraint(final List<S> symbols, final Relation relation, final int value) {
+            final int[] coefficients = new int[symbols.size()];
+            Arrays.fill(coefficients, 1);
+            addLinearConstraint(symbols, coefficients, relation, value);
+        }
+
+        /** c1 * x1 + ... + cn * xn (=, <=, >=) value, propagated on the bounds of the variables */
+        public void addLinearConstraint(final List<S> symbols, final int[] coefficients, final Relation relation, final int value) {
+            for (final S s : symbols) {
+                checkSymbolExists(s);
+            }
+            if (new HashSet<>(symbols).size() != symbols.size()) {
+                throw new IllegalArgumentException("Variables of a constraint must be different: " + symbols);
+            }
+            linearConstraints.add(new LinearConstraint<>(symbols, coefficients, relation, value));
+        }
+
+        public void minimize(final S symbol) {
+            minimize(List.of(symbol), new int[]{1});
+        }
+
+        public void maximize(final S symbol) {
+            maximize(List.of(symbol), new int[]{1});
+        }
+
+        /** c1 * x1 + ... + cn * xn as small as possible, replaces an objective set before */
+        public void minimize(final List<S> symbols, final int[] coefficients) {
+            setObjective(symbols, coefficients, true);
+        }
+
+        /** c1 * x1 + ... + cn * xn as large as possible, replaces an objective set before */
+        public void maximize(final List<S> symbols, final int[] coefficients) {
+            setObjective(symbols, coefficients, false);
+        }
+
+        private void setObjective(final List<S> symbols, final int[] coefficients, final boolean minimize) {
+            for (final S s : symbols) {
+                checkSymbolExists(s);
+            }
+            if (new HashSet<>(symbols).size() != symbols.size()) {
+                throw new IllegalArgumentException("Variables of an objective must be different: " + symbols);
+            }
+            objective = new Objective<>(symbols, coefficients, minimize);
+        }
+
+        private void addTable(final List<S> symbols, final Collection<int[]> tuples, final boolean allowed) {
+            for (final S s : symbols) {
+                checkSymbolExists(s);
+            }
+            if (new HashSet<>(symbols).size() != symbols.size()) {
+                throw new IllegalArgumentException("Variables of a table must be different: " + symbols);
             }
+            tableConstraints.add(new TableConstraint<>(symbols, tuples, allowed));
         }
 
         private void checkSymbolExists(final S symbol) {
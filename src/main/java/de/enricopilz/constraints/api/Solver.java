@@ -1,11 +1,67 @@
 package de.enricopilz.constraints.api;
 
+import java.util.Iterator;
 import java.util.List;
+import java.util.Optional;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  * S : Type of symbols
  */
 public interface Solver<S> {
 
-    List<Solution<S>> solve();
+    /** all solutions */
+    default List<Solution<S>> solve() {
+        return stream().collect(Collectors.toList());
+    }
+
+    /** number of solutions, without creating them */
+    default long countSolutions() {
+        return countSolutions(Long.MAX_VALUE);
+    }
+
+    /**
+     * Number of solutions, but at most the limit, e.g. a limit of 2 tells whether there is exactly one solution.
+     * Solutions are only counted, so the memory does not grow with their number.
+     */
+    default long countSolutions(final long limit) {
+        if (limit < 1) {
+            throw new IllegalArgumentException("Limit must be positive: " + limit);
+        }
+        return stream().limit(limit).count();
+    }
+
+    /** best solution for the objective of the problem, empty if there is no solution */
+    default Optional<Solution<S>> optimize() {
+        return optimize(solution -> {
+        });
+    }
+
+    /**
+     * Branch and bound: after each solution only better ones are searched.
+     * The improving solutions are passed to the callback as soon as they are found, by one thread at a time.
+     * If the search stopped early (see {@link #getTermination()}), the result is the best solution found so far.
+     * @throws IllegalStateException if the problem has no objective
+     */
+    Optional<Solution<S>> optimize(Consumer<Solution<S>> improvements);
+
+    /** each call starts a new search, which only runs until the next solution is requested */
+    Iterator<Solution<S>> iterator();
+
+    /** statistics of the last search started by iterator(), as far as it got */
+    SolverStatistics getStatistics();
+
+    /** why the last search started by iterator() stopped, e.g. because of a limit of the {@link SolverConfiguration} */
+    Termination getTermination();
+
+    /** lazy like iterator(), e.g. findFirst() stops the search after the first solution */
+    default Stream<Solution<S>> stream() {
+        return StreamSupport.stream(
+                Spliterators.spliteratorUnknownSize(iterator(), Spliterator.ORDERED | Spliterator.NONNULL), false);
+    }
 }
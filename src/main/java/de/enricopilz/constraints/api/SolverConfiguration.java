@@ -0,0 +1,344 @@
+package de.enricopilz.constraints.api;
+
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * Tuning options for the solvers, the defaults fit most problems.
+ */
+public class SolverConfiguration {
+
+    /** How the search goes back to a previous choice point */
+    public enum Backtracking {
+        /** every guess works on a deep clone of all variables */
+        CLONE,
+        /** domain changes are recorded in an undo log and rolled back */
+        TRAIL
+    }
+
+    /** Which unsolved variable is guessed next */
+    public enum VariableSelection {
+        /** first unsolved variable */
+        INPUT_ORDER,
+        /** smallest domain first (MRV) */
+        SMALLEST_DOMAIN,
+        /** smallest ratio of domain size and number of constraints */
+        DOM_DEG,
+        /** smallest ratio of domain size and constraint weights, a constraint weighs more each time it fails */
+        DOM_WDEG
+    }
+
+    /** In which order the values of the chosen variable are guessed */
+    public enum ValueSelection {
+        /** ascending */
+        MIN,
+        /** descending */
+        MAX,
+        /** values, which remove the fewest values from other variables, first */
+        LEAST_CONSTRAINING,
+        /** shuffled with the random seed */
+        RANDOM,
+        /** value of the last solution first (or of the last guess, as long as there is no solution) */
+        PHASE_SAVING
+    }
+
+    /** When the search starts again from the root, keeping the learned weights and nogoods */
+    public enum Restarts {
+        /** never */
+        NONE,
+        /** after cutoff * 1, 1, 2, 1, 1, 2, 4, 1, ... failures (Luby sequence) */
+        LUBY,
+        /** after cutoff, cutoff * factor, cutoff * factor^2, ... failures */
+        GEOMETRIC
+    }
+
+    private final Backtracking backtracking;
+
+    private final VariableSelection variableSelection;
+
+    private final ValueSelection valueSelection;
+
+    private final long randomSeed;
+
+    private final int parallelism;
+
+    private final int sequentialCutoff;
+
+    private final boolean firstSolutionOnly;
+
+    private final boolean collectStatistics;
+
+    private final Duration timeLimit;
+
+    private final long maxNodes;
+
+    private final long maxFailures;
+
+    private final long maxSolutions;
+
+    private final boolean backjumping;
+
+    private final int maxNogoods;
+
+    private final int maxNogoodSize;
+
+    private final Restarts restarts;
+
+    private final long restartCutoff;
+
+    private final double restartFactor;
+
+    private SolverConfiguration(final Builder builder) {
+        this.backtracking = builder.backtracking;
+        this.variableSelection = builder.variableSelection;
+        this.valueSelection = builder.valueSelection;
+        this.randomSeed = builder.randomSeed;
+        this.parallelism = builder.parallelism;
+        this.sequentialCutoff = builder.sequentialCutoff;
+        this.firstSolutionOnly = builder.firstSolutionOnly;
+        this.collectStatistics = builder.collectStatistics;
+        this.timeLimit = builder.timeLimit;
+        this.maxNodes = builder.maxNodes;
+        this.maxFailures = builder.maxFailures;
+        this.maxSolutions = builder.maxSolutions;
+        this.backjumping = builder.backjumping;
+        this.maxNogoods = builder.maxNogoods;
+        this.maxNogoodSize = builder.maxNogoodSize;
+        this.restarts = builder.restarts;
+        this.restartCutoff = builder.restartCutoff;
+        this.restartFactor = builder.restartFactor;
+    }
+
+    public static SolverConfiguration defaults() {
+        return new Builder().build();
+    }
+
+    public Backtracking getBacktracking() {
+        return backtracking;
+    }
+
+    public VariableSelection getVariableSelection() {
+        return variableSelection;
+    }
+
+    public ValueSelection getValueSelection() {
+        return valueSelection;
+    }
+
+    public long getRandomSeed() {
+        return randomSeed;
+    }
+
+    /** number of threads of the parallel solver */
+    public int getParallelism() {
+        return parallelism;
+    }
+
+    /** the parallel solver searches sequentially below this depth of choice points */
+    public int getSequentialCutoff() {
+        return sequentialCutoff;
+    }
+
+    /** the search stops after the first solution, the parallel solver cancels all other branches */
+    public boolean isFirstSolutionOnly() {
+        return firstSolutionOnly;
+    }
+
+    /** counters and times of the search, see {@link Solver#getStatistics()} */
+    public boolean isCollectStatistics() {
+        return collectStatistics;
+    }
+
+    /** the search stops after this time, measured from the start of the search */
+    public Optional<Duration> getTimeLimit() {
+        return Optional.ofNullable(timeLimit);
+    }
+
+    /** maximal number of choice points */
+    public long getMaxNodes() {
+        return maxNodes;
+    }
+
+    /** maximal number of failed guesses, the search stops at the next one */
+    public long getMaxFailures() {
+        return maxFailures;
+    }
+
+    public long getMaxSolutions() {
+        return maxSolutions;
+    }
+
+    /** after all values of a variable failed, go back to the latest decision responsible for the failures */
+    public boolean isBackjumping() {
+        return backjumping;
+    }
+
+    /** number of learned nogoods kept by backjumping, 0 for none */
+    public int getMaxNogoods() {
+        return maxNogoods;
+    }
+
+    /** longer nogoods are not learned */
+    public int getMaxNogoodSize() {
+        return maxNogoodSize;
+    }
+
+    /**
+     * Restarts are only done until the first solution is found, so enumerating all solutions stays complete.
+     * Ties of the variable selection are broken randomly with the random seed, combine with
+     * {@link ValueSelection#RANDOM} or {@link ValueSelection#PHASE_SAVING} to vary the values as well.
+     */
+    public Restarts getRestarts() {
+        return restarts;
+    }
+
+    /** failures before the first restart */
+    public long getRestartCutoff() {
+        return restartCutoff;
+    }
+
+    /** growth of the cutoff with geometric restarts */
+    public double getRestartFactor() {
+        return restartFactor;
+    }
+
+    public static class Builder {
+
+        private Backtracking backtracking = Backtracking.TRAIL;
+
+        private VariableSelection variableSelection = VariableSelection.SMALLEST_DOMAIN;
+
+        private ValueSelection valueSelection = ValueSelection.MIN;
+
+        private long randomSeed = 0L;
+
+        private int parallelism = Runtime.getRuntime().availableProcessors();
+
+        private int sequentialCutoff = 3;
+
+        private boolean firstSolutionOnly = false;
+
+        private boolean collectStatistics = false;
+
+        private Duration timeLimit = null;
+
+        private long maxNodes = Long.MAX_VALUE;
+
+        private long maxFailures = Long.MAX_VALUE;
+
+        private long maxSolutions = Long.MAX_VALUE;
+
+        private boolean backjumping = false;
+
+        private int maxNogoods = 0;
+
+        private int maxNogoodSize = 8;
+
+        private Restarts restarts = Restarts.NONE;
+
+        private long restartCutoff = 100;
+
+        private double restartFactor = 1.5;
+
+        public SolverConfiguration build() {
+            if (backjumping && backtracking != Backtracking.TRAIL) {
+                throw new IllegalArgumentException("Backjumping needs backtracking with trail.");
+            }
+            if (maxNogoods > 0 && !backjumping) {
+                throw new IllegalArgumentException("Nogoods are only learned with backjumping.");
+            }
+            return new SolverConfiguration(this);
+        }
+
+        public void setBacktracking(final Backtracking backtracking) {
+            this.backtracking = backtracking;
+        }
+
+        public void setVariableSelection(final VariableSelection variableSelection) {
+            this.variableSelection = variableSelection;
+        }
+
+        public void setValueSelection(final ValueSelection valueSelection) {
+            this.valueSelection = valueSelection;
+        }
+
+        public void setRandomSeed(final long randomSeed) {
+            this.randomSeed = randomSeed;
+        }
+
+        public void setParallelism(final int parallelism) {
+            if (parallelism < 1) {
+                throw new IllegalArgumentException("Parallelism must be positive: " + parallelism);
+            }
+            this.parallelism = parallelism;
+        }
+
+        public void setSequentialCutoff(final int sequentialCutoff) {
+            this.sequentialCutoff = sequentialCutoff;
+        }
+
+        public void setFirstSolutionOnly(final boolean firstSolutionOnly) {
+            this.firstSolutionOnly = firstSolutionOnly;
+        }
+
+        public void setCollectStatistics(final boolean collectStatistics) {
+            this.collectStatistics = collectStatistics;
+        }
+
+        public void setTimeLimit(final Duration timeLimit) {
+            if (timeLimit.isNegative()) {
+                throw new IllegalArgumentException("Time limit must not be negative: " + timeLimit);
+            }
+            this.timeLimit = timeLimit;
+        }
+
+        public void setMaxNodes(final long maxNodes) {
+            this.maxNodes = requirePositive("Max nodes", maxNodes);
+        }
+
+        public void setMaxFailures(final long maxFailures) {
+            this.maxFailures = requirePositive("Max failures", maxFailures);
+        }
+
+        public void setMaxSolutions(final long maxSolutions) {
+            this.maxSolutions = requirePositive("Max solutions", maxSolutions);
+        }
+
+        public void setBackjumping(final boolean backjumping) {
+            this.backjumping = backjumping;
+        }
+
+        public void setMaxNogoods(final int maxNogoods) {
+            if (maxNogoods < 0) {
+                throw new IllegalArgumentException("Max nogoods must not be negative: " + maxNogoods);
+            }
+            this.maxNogoods = maxNogoods;
+        }
+
+        public void setMaxNogoodSize(final int maxNogoodSize) {
+            this.maxNogoodSize = (int) requirePositive("Max nogood size", maxNogoodSize);
+        }
+
+        public void setRestarts(final Restarts restarts) {
+            this.restarts = restarts;
+        }
+
+        public void setRestartCutoff(final long restartCutoff) {
+            this.restartCutoff = requirePositive("Restart cutoff", restartCutoff);
+        }
+
+        public void setRestartFactor(final double restartFactor) {
+            if (!(restartFactor > 1.0)) {
+                throw new IllegalArgumentException("Restart factor must be greater than 1: " + restartFactor);
+            }
+            this.restartFactor = restartFactor;
+        }
+
+        private static long requirePositive(final String name, final long value) {
+            if (value < 1) {
+                throw new IllegalArgumentException(name + " must be positive: " + value);
+            }
+            return value;
+        }
+    }
+}
@@ -1,13 +1,18 @@
 package de.enricopilz.constraints.api;
 
+import de.enricopilz.constraints.solver.DancingLinksSolver;
 import de.enricopilz.constraints.solver.DeepFirstSearchSolver;
+import de.enricopilz.constraints.solver.ParallelDeepFirstSearchSolver;
 
 import java.lang.reflect.InvocationTargetException;
 
 public class SolverFactory {
 
     public enum SolverEnum {
-        DFS(DeepFirstSearchSolver.class);
+        DFS(DeepFirstSearchSolver.class),
+        PARALLEL_DFS(ParallelDeepFirstSearchSolver.class),
+        /** only for all different and unary constraints, e.g. sudokus */
+        DLX(DancingLinksSolver.class);
 
         private Class<? extends Solver> clazz;
 
@@ -21,8 +26,14 @@ public class SolverFactory {
     }
 
     public static <S> Solver<S> constructSolver(final SolverEnum solver, final Problem<S> problem) {
+        return constructSolver(solver, problem, SolverConfiguration.defaults());
+    }
+
+    public static <S> Solver<S> constructSolver(final SolverEnum solver, final Problem<S> problem,
+                                                final SolverConfiguration configuration) {
         try {
-            return solver.getClazz().getConstructor(Problem.class).newInstance(problem);
+            return solver.getClazz().getConstructor(Problem.class, SolverConfiguration.class)
+                    .newInstance(problem, configuration);
         } catch (InstantiationException | IllegalAccessException | InvocationTargetException | NoSuchMethodException e) {
             throw new RuntimeException(e);
         }
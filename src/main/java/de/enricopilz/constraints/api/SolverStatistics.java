@@ -0,0 +1,198 @@
+package de.enricopilz.constraints.api;
+
+import java.time.Duration;
+
+/**
+ * Counters of a search, collected only if enabled in the {@link SolverConfiguration}, otherwise all zero.
+ * The parallel solver sums the counters and times of all workers.
+ */
+public class SolverStatistics {
+
+    public static final SolverStatistics NONE = new Builder().build();
+
+    private final long nodes;
+
+    private final long guesses;
+
+    private final long failures;
+
+    private final int maxDepth;
+
+    private final long constraintChecks;
+
+    private final long valuesPruned;
+
+    private final long clones;
+
+    private final int maxTrailSize;
+
+    private final long restarts;
+
+    private final Duration initialTime;
+
+    private final Duration reasoningTime;
+
+    private final Duration guessingTime;
+
+    private SolverStatistics(final Builder builder) {
+        this.nodes = builder.nodes;
+        this.guesses = builder.guesses;
+        this.failures = builder.failures;
+        this.maxDepth = builder.maxDepth;
+        this.constraintChecks = builder.constraintChecks;
+        this.valuesPruned = builder.valuesPruned;
+        this.clones = builder.clones;
+        this.maxTrailSize = builder.maxTrailSize;
+        this.restarts = builder.restarts;
+        this.initialTime = builder.initialTime;
+        this.reasoningTime = builder.reasoningTime;
+        this.guessingTime = builder.guessingTime;
+    }
+
+    /** choice points */
+    public long getNodes() {
+        return nodes;
+    }
+
+    /** values tried at the choice points */
+    public long getGuesses() {
+        return guesses;
+    }
+
+    /** propagations, which ended in a contradiction */
+    public long getFailures() {
+        return failures;
+    }
+
+    public int getMaxDepth() {
+        return maxDepth;
+    }
+
+    /** runs of a propagator */
+    public long getConstraintChecks() {
+        return constraintChecks;
+    }
+
+    /** values removed from domains by propagation */
+    public long getValuesPruned() {
+        return valuesPruned;
+    }
+
+    /** copies of all variables, only for backtracking with clones and the parallel branches */
+    public long getClones() {
+        return clones;
+    }
+
+    /** most saved domains at once, only for backtracking with trail */
+    public int getMaxTrailSize() {
+        return maxTrailSize;
+    }
+
+    /** searches started again from the root, see {@link SolverConfiguration#getRestarts()} */
+    public long getRestarts() {
+        return restarts;
+    }
+
+    /** unary constraints and propagation before the first guess */
+    public Duration getInitialTime() {
+        return initialTime;
+    }
+
+    /** propagation after the guesses */
+    public Duration getReasoningTime() {
+        return reasoningTime;
+    }
+
+    /** rest of the search: choosing variables and values, backtracking */
+    public Duration getGuessingTime() {
+        return guessingTime;
+    }
+
+    @Override
+    public String toString() {
+        return "nodes=" + nodes + ", guesses=" + guesses + ", failures=" + failures + ", maxDepth=" + maxDepth
+                + ", constraintChecks=" + constraintChecks + ", valuesPruned=" + valuesPruned
+                + ", clones=" + clones + ", maxTrailSize=" + maxTrailSize + ", restarts=" + restarts
+                + ", initial=" + initialTime.toMillis() + "ms, reasoning=" + reasoningTime.toMillis()
+                + "ms, guessing=" + guessingTime.toMillis() + "ms";
+    }
+
+    public static class Builder {
+
+        private long nodes;
+
+        private long guesses;
+
+        private long failures;
+
+        private int maxDepth;
+
+        private long constraintChecks;
+
+        private long valuesPruned;
+
+        private long clones;
+
+        private int maxTrailSize;
+
+        private long restarts;
+
+        private Duration initialTime = Duration.ZERO;
+
+        private Duration reasoningTime = Duration.ZERO;
+
+        private Duration guessingTime = Duration.ZERO;
+
+        public SolverStatistics build() {
+            return new SolverStatistics(this);
+        }
+
+        public void setNodes(final long nodes) {
+            this.nodes = nodes;
+        }
+
+        public void setGuesses(final long guesses) {
+            this.guesses = guesses;
+        }
+
+        public void setFailures(final long failures) {
+            this.failures = failures;
+        }
+
+        public void setMaxDepth(final int maxDepth) {
+            this.maxDepth = maxDepth;
+        }
+
+        public void setConstraintChecks(final long constraintChecks) {
+            this.constraintChecks = constraintChecks;
+        }
+
+        public void setValuesPruned(final long valuesPruned) {
+            this.valuesPruned = valuesPruned;
+        }
+
+        public void setClones(final long clones) {
+            this.clones = clones;
+        }
+
+        public void setMaxTrailSize(final int maxTrailSize) {
+            this.maxTrailSize = maxTrailSize;
+        }
+
+        public void setRestarts(final long restarts) {
+            this.restarts = restarts;
+        }
+
+        public void setInitialTime(final Duration initialTime) {
+            this.initialTime = initialTime;
+        }
+
+        public void setReasoningTime(final Duration reasoningTime) {
+            this.reasoningTime = reasoningTime;
+        }
+
+        public void setGuessingTime(final Duration guessingTime) {
+            this.guessingTime = guessingTime;
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package de.enricopilz.constraints.api;
+
+/**
+ * Why a search stopped, see {@link Solver#getTermination()}.
+ */
+public enum Termination {
+    /** not started yet, or more solutions can be requested from the iterator */
+    PENDING,
+    /** the whole search tree was explored, there are no more solutions */
+    COMPLETE,
+    TIME_LIMIT,
+    NODE_LIMIT,
+    FAILURE_LIMIT,
+    /** the maximal number of solutions was found, there may be more */
+    SOLUTION_LIMIT,
+    /** the thread, which started the search, was interrupted, or the search was cancelled */
+    INTERRUPTED;
+
+    /** false, if the search was cut off before all solutions were found */
+    public boolean isComplete() {
+        return this == COMPLETE;
+    }
+}
@@ -1,10 +1,13 @@
 package de.enricopilz.constraints.api.representation;
 
+import de.enricopilz.constraints.api.ExactCoverProblem;
 import de.enricopilz.constraints.api.Problem;
 import de.enricopilz.constraints.api.Solution;
 import de.enricopilz.constraints.api.Solver;
+import de.enricopilz.constraints.api.SolverConfiguration;
 import de.enricopilz.constraints.api.SolverFactory;
 import de.enricopilz.constraints.api.SolverFactory.SolverEnum;
+import de.enricopilz.constraints.solver.ExactCoverSolver;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -136,6 +139,23 @@ public class Sudoku {
      * The tiles get symbols from 11 to 99 with possibilities 1 to 9.
      */
     public List<String> solve(SolverEnum solverEnum) {
+        return solve(solverEnum, SolverConfiguration.defaults());
+    }
+
+    public List<String> solve(SolverEnum solverEnum, SolverConfiguration configuration) {
+        if (solverEnum == SolverEnum.DLX) {
+            // the sudoku is an exact cover problem itself, no need for the generic model
+            return new ExactCoverSolver<>(toExactCover(), configuration).stream()
+                    .map(this::extractSolution).collect(Collectors.toList());
+        }
+        Solver<Integer> solver = SolverFactory.constructSolver(solverEnum, toProblem(), configuration);
+
+        List<Solution<Integer>> solutions = solver.solve();
+        return solutions.stream().map(this::extractSolution).collect(Collectors.toList());
+    }
+
+    /** the sudoku as constraint problem, the symbols are 100 * row + column */
+    public Problem<Integer> toProblem() {
         Problem.Builder<Integer> sudokuProblem = new Problem.Builder<>();
 
         List<Group> rows = createRows();
@@ -159,16 +179,48 @@ public class Sudoku {
                 int i = y * size + x;
                 if (field[i] != 0) {
                     final int cellValue = field[i];
-                    sudokuProblem.addConstraint(fieldSymbol(y+1, x+1), (a) -> a.equals(cellValue));
+                    sudokuProblem.addIntConstraint(fieldSymbol(y+1, x+1), (a) -> a == cellValue);
                 }
             }
         }
 
-        // solve
-        Solver<Integer> solver = SolverFactory.constructSolver(solverEnum, sudokuProblem.build());
+        return sudokuProblem.build();
+    }
 
-        List<Solution<Integer>> solutions = solver.solve();
-        return solutions.stream().map(this::extractSolution).collect(Collectors.toList());
+    /**
+     * Rows are cell and value, encoded as size * cell + value - 1.
+     * Columns: each cell has one value, each row, column and tile has each value once.
+     */
+    public ExactCoverProblem<Integer> toExactCover() {
+        final int cells = size * size;
+        final List<Integer> rows = new ArrayList<>();
+        final List<int[]> columnsOfRows = new ArrayList<>();
+        for (int y = 0; y < size; y++) {
+            for (int x = 0; x < size; x++) {
+                final int cell = y * size + x;
+                final int tile = (y / width) * width + x / height;
+                for (int value = 1; value <= size; value++) {
+                    if (field[cell] != 0 && field[cell] != value) {
+                        continue;
+                    }
+                    rows.add(size * cell + value - 1);
+                    columnsOfRows.add(new int[]{
+                            cell,
+                            cells + y * size + value - 1,
+                            2 * cells + x * size + value - 1,
+                            3 * cells + tile * size + value - 1});
+                }
+            }
+        }
+        return ExactCoverProblem.of(4 * cells, 0, rows, columnsOfRows.toArray(new int[0][]));
+    }
+
+    private String extractSolution(final List<Integer> rows) {
+        final char[] cells = new char[size * size];
+        for (int row : rows) {
+            cells[row / size] = fromNumericValue(row % size + 1);
+        }
+        return new String(cells);
     }
 
     private String extractSolution(final Solution<Integer> solution) {
@@ -0,0 +1,146 @@
+package de.enricopilz.constraints.description;
+
+import de.enricopilz.constraints.description.constraint.Constraint;
+import de.enricopilz.constraints.description.constraint.LinearConstraint;
+import de.enricopilz.constraints.description.constraint.SimConstraint;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Problem with the symbols mapped to the dense indices 0..n-1, so solvers work on arrays only.
+ * Unary constraints are already applied to the domains.
+ */
+public class CompiledProblem<S> {
+
+    private final Variables<S> variables;
+
+    private final boolean consistent;
+
+    private final List<Constraint<S>> constraints;
+
+    // variable indices of each constraint
+    private final int[][] scopes;
+
+    // constraint numbers of each variable
+    private final int[][] constraintsOfVariable;
+
+    // number of the constraint bounding the objective, -1 without objective
+    private final int objectiveConstraint;
+
+    public CompiledProblem(final Variables<S> variables, final Collection<SimConstraint<S>> simConstraints,
+                           final List<Constraint<S>> constraints) {
+        this(variables, simConstraints, constraints, null);
+    }
+
+    /**
+     * The objective is appended to the constraints as sum, which has to stay below the best solution so far.
+     * Without a solution it does not restrict anything, so declaring an objective does not change the solutions.
+     * It is minimized, so it is negated for maximization.
+     */
+    public CompiledProblem(final Variables<S> variables, final Collection<SimConstraint<S>> simConstraints,
+                           final List<Constraint<S>> constraints, final Objective<S> objective) {
+        this(variables, simConstraints, withObjective(constraints, objective), objective != null);
+    }
+
+    private CompiledProblem(final Variables<S> variables, final Collection<SimConstraint<S>> simConstraints,
+                            final List<Constraint<S>> constraints, final boolean hasObjective) {
+        this.variables = variables.deepClone();
+        for (SimConstraint<S> constraint : simConstraints) {
+            this.variables.get(variables.indexOf(constraint.getSymbol())).removeIf(value -> !constraint.match(value));
+        }
+        boolean allPossible = true;
+        for (int index = 0; index < this.variables.size(); index++) {
+            allPossible &= this.variables.get(index).size() > 0;
+        }
+        this.consistent = allPossible;
+        this.constraints = List.copyOf(constraints);
+        this.objectiveConstraint = hasObjective ? constraints.size() - 1 : -1;
+        this.scopes = new int[constraints.size()][];
+        final int[] degrees = new int[variables.size()];
+        for (int c = 0; c < scopes.length; c++) {
+            final List<S> symbols = constraints.get(c).getSymbols();
+            scopes[c] = new int[symbols.size()];
+            for (int i = 0; i < scopes[c].length; i++) {
+                scopes[c][i] = variables.indexOf(symbols.get(i));
+                degrees[scopes[c][i]]++;
+            }
+        }
+        this.constraintsOfVariable = new int[variables.size()][];
+        for (int index = 0; index < degrees.length; index++) {
+            constraintsOfVariable[index] = new int[degrees[index]];
+            degrees[index] = 0;
+        }
+        for (int c = 0; c < scopes.length; c++) {
+            for (int index : scopes[c]) {
+                constraintsOfVariable[index][degrees[index]++] = c;
+            }
+        }
+    }
+
+    private static <S> List<Constraint<S>> withObjective(final List<Constraint<S>> constraints, final Objective<S> objective) {
+        if (objective == null) {
+            return constraints;
+        }
+        final int[] coefficients = objective.getCoefficients();
+        if (!objective.isMinimize()) {
+            for (int i = 0; i < coefficients.length; i++) {
+                coefficients[i] = -coefficients[i];
+            }
+        }
+        final List<Constraint<S>> all = new ArrayList<>(constraints);
+        // the value is not used, the propagator starts without a bound and the search lowers it as long
+        all.add(new LinearConstraint<>(objective.getSymbols(), coefficients, LinearConstraint.Relation.LESS_OR_EQUAL,
+                Integer.MAX_VALUE));
+        return all;
+    }
+
+    /** fresh copy of the initial variables */
+    public Variables<S> newVariables() {
+        return variables.deepClone();
+    }
+
+    /** false, if a unary constraint removed all values of a variable */
+    public boolean isConsistent() {
+        return consistent;
+    }
+
+    public int size() {
+        return variables.size();
+    }
+
+    /** number of values of the variable before the search, its domain only shrinks from there */
+    public int getDomainSize(final int index) {
+        return variables.get(index).size();
+    }
+
+    /** values of the variable before the search, in ascending order */
+    public int[] getInitialValues(final int index) {
+        final int[] values = variables.get(index).getDomain().toArray();
+        Arrays.sort(values);
+        return values;
+    }
+
+    public int indexOf(final S symbol) {
+        return variables.indexOf(symbol);
+    }
+
+    public List<Constraint<S>> getConstraints() {
+        return constraints;
+    }
+
+    public int[] getScope(final int constraint) {
+        return scopes[constraint];
+    }
+
+    public int[] getConstraintsOfVariable(final int index) {
+        return constraintsOfVariable[index];
+    }
+
+    /** number of the constraint bounding the objective, -1 if the problem has no objective */
+    public int getObjectiveConstraint() {
+        return objectiveConstraint;
+    }
+}
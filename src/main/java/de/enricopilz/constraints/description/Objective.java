@@ -0,0 +1,44 @@
+package de.enricopilz.constraints.description;
+
+import de.enricopilz.constraints.api.Solution;
+
+import java.util.List;
+
+/** weighted sum of variables c1 * x1 + ... + cn * xn, which is minimized or maximized */
+public class Objective<S> {
+
+    private final List<S> symbols;
+
+    private final int[] coefficients;
+
+    private final boolean minimize;
+
+    public Objective(final List<S> symbols, final int[] coefficients, final boolean minimize) {
+        if (symbols.size() != coefficients.length) {
+            throw new IllegalArgumentException("Need one coefficient per variable: " + symbols);
+        }
+        this.symbols = List.copyOf(symbols);
+        this.coefficients = coefficients.clone();
+        this.minimize = minimize;
+    }
+
+    public long evaluate(final Solution<S> solution) {
+        long value = 0L;
+        for (int i = 0; i < coefficients.length; i++) {
+            value += (long) coefficients[i] * solution.getValue(symbols.get(i));
+        }
+        return value;
+    }
+
+    public List<S> getSymbols() {
+        return symbols;
+    }
+
+    public int[] getCoefficients() {
+        return coefficients.clone();
+    }
+
+    public boolean isMinimize() {
+        return minimize;
+    }
+}
@@ -1,40 +1,103 @@
 package de.enricopilz.constraints.description;
 
-import java.util.ArrayList;
+import de.enricopilz.constraints.description.domain.Domain;
+
 import java.util.List;
 import java.util.Optional;
+import java.util.function.IntPredicate;
 
 public class Variable<S> {
 
+    // dense number of the variable within its problem
+    private final int index;
+
     private final S symbol;
 
-    // possible values as List of Symbols
-    private List<Integer> possibilities;
+    // possible values, bitset if possible
+    private Domain domain;
+
+    public Variable(final int index, final S symbol, final List<Integer> possibilities) {
+        this(index, symbol, Domain.of(possibilities));
+    }
 
-    public Variable(final S symbol, final List<Integer> possibilities) {
+    public Variable(final int index, final S symbol, final Domain domain) {
+        this.index = index;
         this.symbol = symbol;
-        this.possibilities = new ArrayList<>(possibilities);
+        this.domain = domain;
     }
 
     public Optional<Integer> value() {
-        return possibilities.size() == 1 ? Optional.of(possibilities.get(0)) : Optional.empty();
+        return domain.isSingleton() ? Optional.of(domain.min()) : Optional.empty();
+    }
+
+    public boolean isSolved() {
+        return domain.isSingleton();
+    }
+
+    public int size() {
+        return domain.size();
+    }
+
+    public boolean contains(final int value) {
+        return domain.contains(value);
     }
 
     public void guessValue(final Integer value) {
-        this.possibilities = List.of(value);
+        this.domain.assign(value);
+    }
+
+    public boolean removeValue(final int value) {
+        return domain.remove(value);
+    }
+
+    public boolean anyMatch(final IntPredicate predicate) {
+        return domain.anyMatch(predicate);
+    }
+
+    public int removeIf(final IntPredicate predicate) {
+        return domain.removeIf(predicate);
+    }
+
+    /** @return number of removed values outside of min..max */
+    public int restrictBounds(final int min, final int max) {
+        return domain.removeBelow(min) + domain.removeAbove(max);
     }
 
     public void removePossibilities(final List<Integer> removals) {
-        this.possibilities.removeAll(removals);
+        for (int removal : removals) {
+            domain.remove(removal);
+        }
+    }
+
+    /** reset the domain to a state saved before (backtracking) */
+    public void restoreDomain(final Domain domain) {
+        this.domain = domain;
     }
 
     @SuppressWarnings("MethodDoesntCallSuperMethod")
     @Override
     public Variable<S> clone() {
-        return new Variable<>(symbol, new ArrayList<>(possibilities));
+        return new Variable<>(index, symbol, domain.copy());
+    }
+
+    public int getIndex() {
+        return index;
+    }
+
+    public S getSymbol() {
+        return symbol;
+    }
+
+    public Domain getDomain() {
+        return domain;
     }
 
     public List<Integer> getPossibilities() {
-        return this.possibilities;
+        return domain.values();
+    }
+
+    @Override
+    public String toString() {
+        return symbol + "=" + domain;
     }
 }
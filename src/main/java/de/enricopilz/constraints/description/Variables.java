@@ -2,59 +2,99 @@ package de.enricopilz.constraints.description;
 
 import de.enricopilz.constraints.api.Solution;
 
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.Map;
-import java.util.Map.Entry;
-import java.util.stream.Collectors;
 
 public class Variables<S> {
 
-    private final Map<S, Variable<S>> map;
+    // index by symbol, shared by all clones
+    private final Map<S, Integer> indices;
 
+    // variables by their index
+    private final Variable<S>[] array;
+
+    @SuppressWarnings("unchecked")
     public Variables(final Map<S, Variable<S>> map) {
-        this.map = map;
+        this.indices = new HashMap<>();
+        this.array = (Variable<S>[]) new Variable<?>[map.size()];
+        for (Variable<S> variable : map.values()) {
+            array[variable.getIndex()] = variable;
+            indices.put(variable.getSymbol(), variable.getIndex());
+        }
+    }
+
+    private Variables(final Map<S, Integer> indices, final Variable<S>[] array) {
+        this.indices = indices;
+        this.array = array;
     }
 
     public Variable<S> get(final S symbol) {
-        Variable<S> variable = map.get(symbol);
-        if (variable.getPossibilities().size() < 1) {
+        Variable<S> variable = array[indexOf(symbol)];
+        if (variable.size() < 1) {
             throw new IllegalStateException();
         }
         return variable;
     }
 
+    public Variable<S> get(final int index) {
+        return array[index];
+    }
+
+    public int indexOf(final S symbol) {
+        final Integer index = indices.get(symbol);
+        if (index == null) {
+            throw new IllegalArgumentException("Unknown variable: " + symbol);
+        }
+        return index;
+    }
+
+    public int size() {
+        return array.length;
+    }
+
     public boolean isSolved(final long countSolved) {
-        return this.map.size() == countSolved;
+        return array.length == countSolved;
     }
 
     public Variables<S> deepClone() {
-        final Map<S, Variable<S>> clonedMap = map.entrySet().stream()
-                .collect(Collectors.toUnmodifiableMap(
-                        Entry::getKey,
-                        entry -> entry.getValue().clone()
-                ));
-        return new Variables<>(clonedMap);
+        final Variable<S>[] clonedArray = array.clone();
+        for (int i = 0; i < clonedArray.length; i++) {
+            clonedArray[i] = clonedArray[i].clone();
+        }
+        return new Variables<>(indices, clonedArray);
     }
 
     public long countSolvedVariables() {
-        return map.values().stream().filter(v -> v.value().isPresent()).count();
+        int count = 0;
+        for (Variable<S> variable : array) {
+            if (variable.isSolved()) {
+                count++;
+            }
+        }
+        return count;
     }
 
-    // TODO könnte besser ausgewählt werden, Heuristiken ausprobieren
+    /** first unsolved variable, the other heuristics are implemented by the VariableSelector of the solver */
     public Variable<S> chooseUnsolvedVariable() {
-        return map.values().stream()
-                .filter(v -> v.value().isEmpty())
-                .findFirst()
-                .orElseThrow(() -> new IllegalArgumentException("Seems like everything is already solved."));
+        for (Variable<S> variable : array) {
+            if (!variable.isSolved()) {
+                return variable;
+            }
+        }
+        throw new IllegalArgumentException("Seems like everything is already solved.");
     }
 
+    /** the only place, where indices are mapped back to symbols */
     public Solution<S> extractSolution() {
-        return new Solution<>(map.entrySet().stream()
-                .collect(Collectors.toUnmodifiableMap(
-                        Map.Entry::getKey,
-                        entry -> entry.getValue().value().orElseThrow())));
+        final Map<S, Integer> values = new HashMap<>(2 * array.length);
+        for (Variable<S> variable : array) {
+            values.put(variable.getSymbol(), variable.value().orElseThrow());
+        }
+        return new Solution<>(Collections.unmodifiableMap(values));
     }
 
     public boolean isEmpty() {
-        return map.isEmpty();
+        return array.length == 0;
     }
 }
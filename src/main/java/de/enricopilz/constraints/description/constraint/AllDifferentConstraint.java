@@ -0,0 +1,17 @@
+package de.enricopilz.constraints.description.constraint;
+
+import java.util.List;
+
+public class AllDifferentConstraint<S> implements Constraint<S> {
+
+    private final List<S> symbols;
+
+    public AllDifferentConstraint(final List<S> symbols) {
+        this.symbols = List.copyOf(symbols);
+    }
+
+    @Override
+    public List<S> getSymbols() {
+        return symbols;
+    }
+}
@@ -1,21 +1,21 @@
 package de.enricopilz.constraints.description.constraint;
 
-import java.util.function.BiFunction;
+import java.util.List;
 
-public class BiConstraint<S> {
+public class BiConstraint<S> implements Constraint<S> {
 
     private final S a;
     private final S b;
-    private final BiFunction<Integer, Integer, Boolean> constraint;
+    private final IntBinaryPredicate constraint;
 
-    public BiConstraint(final S a, final S b, final BiFunction<Integer, Integer, Boolean> constraint) {
+    public BiConstraint(final S a, final S b, final IntBinaryPredicate constraint) {
         this.a = a;
         this.b = b;
         this.constraint = constraint;
     }
 
-    public boolean match(final Integer a, final Integer b) {
-        return constraint.apply(a, b);
+    public boolean match(final int a, final int b) {
+        return constraint.test(a, b);
     }
 
     public S getA() {
@@ -25,4 +25,9 @@ public class BiConstraint<S> {
     public S getB() {
         return b;
     }
+
+    @Override
+    public List<S> getSymbols() {
+        return List.of(a, b);
+    }
 }
@@ -0,0 +1,10 @@
+package de.enricopilz.constraints.description.constraint;
+
+import java.util.List;
+
+/** common view on all kinds of constraints */
+public interface Constraint<S> {
+
+    /** variables of the constraint */
+    List<S> getSymbols();
+}
@@ -0,0 +1,8 @@
+package de.enricopilz.constraints.description.constraint;
+
+/** like BiPredicate, but for two ints without boxing */
+@FunctionalInterface
+public interface IntBinaryPredicate {
+
+    boolean test(int a, int b);
+}
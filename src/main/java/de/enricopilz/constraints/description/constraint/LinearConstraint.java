@@ -0,0 +1,65 @@
+package de.enricopilz.constraints.description.constraint;
+
+import java.util.List;
+
+/** weighted sum of the variables compared with a constant: c1 * x1 + ... + cn * xn (=, <=, >=) value */
+public class LinearConstraint<S> implements Constraint<S> {
+
+    /** How the sum is compared with the value */
+    public enum Relation {
+        EQUAL,
+        LESS_OR_EQUAL,
+        GREATER_OR_EQUAL
+    }
+
+    private final List<S> symbols;
+
+    private final int[] coefficients;
+
+    private final Relation relation;
+
+    private final int value;
+
+    public LinearConstraint(final List<S> symbols, final int[] coefficients, final Relation relation, final int value) {
+        if (symbols.size() != coefficients.length) {
+            throw new IllegalArgumentException("Need one coefficient per variable: " + symbols);
+        }
+        this.symbols = List.copyOf(symbols);
+        this.coefficients = coefficients.clone();
+        this.relation = relation;
+        this.value = value;
+    }
+
+    public boolean match(final int[] values) {
+        long sum = 0L;
+        for (int i = 0; i < values.length; i++) {
+            sum += (long) coefficients[i] * values[i];
+        }
+        switch (relation) {
+            case LESS_OR_EQUAL:
+                return sum <= value;
+            case GREATER_OR_EQUAL:
+                return sum >= value;
+            default:
+                return sum == value;
+        }
+    }
+
+    /** in the order of the symbols */
+    public int[] getCoefficients() {
+        return coefficients.clone();
+    }
+
+    public Relation getRelation() {
+        return relation;
+    }
+
+    public int getValue() {
+        return value;
+    }
+
+    @Override
+    public List<S> getSymbols() {
+        return symbols;
+    }
+}
@@ -0,0 +1,42 @@
+package de.enricopilz.constraints.description.constraint;
+
+import java.util.List;
+import java.util.function.Predicate;
+
+/** relation over any number of variables, given as a predicate over their values */
+public class NaryConstraint<S> implements Constraint<S> {
+
+    /** How much the solver prunes with the predicate */
+    public enum Propagation {
+        /** the predicate is checked once all variables but one are assigned */
+        FORWARD_CHECKING,
+        /** every value needs a supporting combination of the other domains, exponential in the number of variables */
+        GAC
+    }
+
+    private final List<S> symbols;
+
+    private final Predicate<int[]> constraint;
+
+    private final Propagation propagation;
+
+    public NaryConstraint(final List<S> symbols, final Predicate<int[]> constraint, final Propagation propagation) {
+        this.symbols = List.copyOf(symbols);
+        this.constraint = constraint;
+        this.propagation = propagation;
+    }
+
+    /** the values are in the order of the symbols, the array is reused and must not be kept */
+    public boolean match(final int[] values) {
+        return constraint.test(values);
+    }
+
+    public Propagation getPropagation() {
+        return propagation;
+    }
+
+    @Override
+    public List<S> getSymbols() {
+        return symbols;
+    }
+}
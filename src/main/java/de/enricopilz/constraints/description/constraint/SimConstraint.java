@@ -1,22 +1,28 @@
 package de.enricopilz.constraints.description.constraint;
 
-import java.util.function.Function;
+import java.util.List;
+import java.util.function.IntPredicate;
 
-public class SimConstraint<S> {
+public class SimConstraint<S> implements Constraint<S> {
 
     private final S symbol;
-    private final Function<Integer, Boolean> constraint;
+    private final IntPredicate constraint;
 
-    public SimConstraint(final S symbol, final Function<Integer, Boolean> constraint) {
+    public SimConstraint(final S symbol, final IntPredicate constraint) {
         this.symbol = symbol;
         this.constraint = constraint;
     }
 
-    public boolean match(final Integer a) {
-        return constraint.apply(a);
+    public boolean match(final int a) {
+        return constraint.test(a);
     }
 
     public S getSymbol() {
         return symbol;
     }
+
+    @Override
+    public List<S> getSymbols() {
+        return List.of(symbol);
+    }
 }
@@ -0,0 +1,53 @@
+package de.enricopilz.constraints.description.constraint;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/** extensional constraint: the values of the variables must (or must not) be one of the tuples */
+public class TableConstraint<S> implements Constraint<S> {
+
+    private final List<S> symbols;
+
+    private final int[][] tuples;
+
+    private final boolean allowed;
+
+    public TableConstraint(final List<S> symbols, final Collection<int[]> tuples, final boolean allowed) {
+        this.symbols = List.copyOf(symbols);
+        // duplicates would be counted twice by the propagation of forbidden tuples
+        final Set<List<Integer>> unique = new LinkedHashSet<>();
+        for (int[] tuple : tuples) {
+            if (tuple.length != symbols.size()) {
+                throw new IllegalArgumentException("Tuple " + Arrays.toString(tuple) + " does not match the variables " + symbols);
+            }
+            final List<Integer> values = new ArrayList<>(tuple.length);
+            for (int value : tuple) {
+                values.add(value);
+            }
+            unique.add(values);
+        }
+        this.tuples = unique.stream()
+                .map(values -> values.stream().mapToInt(Integer::intValue).toArray())
+                .toArray(int[][]::new);
+        this.allowed = allowed;
+    }
+
+    /** distinct tuples, each with one value per symbol */
+    public int[][] getTuples() {
+        return tuples;
+    }
+
+    /** true, if the tuples are the allowed combinations, false if they are the forbidden ones */
+    public boolean isAllowed() {
+        return allowed;
+    }
+
+    @Override
+    public List<S> getSymbols() {
+        return symbols;
+    }
+}
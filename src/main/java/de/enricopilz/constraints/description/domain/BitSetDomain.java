@@ -0,0 +1,148 @@
+package de.enricopilz.constraints.description.domain;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.function.IntPredicate;
+
+/** Domain with values of a bounded range, stored as bits in a long[] */
+public class BitSetDomain implements Domain {
+
+    // value of bit 0
+    private final int offset;
+
+    private final long[] words;
+
+    private int size;
+
+    BitSetDomain(final int offset, final int span, final Collection<Integer> values) {
+        this.offset = offset;
+        this.words = new long[(span + Long.SIZE - 1) / Long.SIZE];
+        for (int value : values) {
+            final int bit = value - offset;
+            if ((words[bit >>> 6] & (1L << bit)) == 0L) {
+                words[bit >>> 6] |= 1L << bit;
+                size++;
+            }
+        }
+    }
+
+    private BitSetDomain(final BitSetDomain other) {
+        this.offset = other.offset;
+        this.words = other.words.clone();
+        this.size = other.size;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public boolean contains(final int value) {
+        final int bit = value - offset;
+        return bit >= 0 && bit < words.length * Long.SIZE && (words[bit >>> 6] & (1L << bit)) != 0L;
+    }
+
+    @Override
+    public boolean remove(final int value) {
+        if (!contains(value)) {
+            return false;
+        }
+        final int bit = value - offset;
+        words[bit >>> 6] &= ~(1L << bit);
+        size--;
+        return true;
+    }
+
+    @Override
+    public int removeIf(final IntPredicate predicate) {
+        int removed = 0;
+        for (int w = 0; w < words.length; w++) {
+            long removals = 0L;
+            for (long rest = words[w]; rest != 0L; rest &= rest - 1) {
+                final int bit = Long.numberOfTrailingZeros(rest);
+                if (predicate.test(offset + w * Long.SIZE + bit)) {
+                    removals |= 1L << bit;
+                }
+            }
+            words[w] &= ~removals;
+            removed += Long.bitCount(removals);
+        }
+        size -= removed;
+        return removed;
+    }
+
+    @Override
+    public void assign(final int value) {
+        final boolean contained = contains(value);
+        for (int w = 0; w < words.length; w++) {
+            words[w] = 0L;
+        }
+        if (contained) {
+            final int bit = value - offset;
+            words[bit >>> 6] = 1L << bit;
+            size = 1;
+        } else {
+            size = 0;
+        }
+    }
+
+    @Override
+    public int min() {
+        for (int w = 0; w < words.length; w++) {
+            if (words[w] != 0L) {
+                return offset + w * Long.SIZE + Long.numberOfTrailingZeros(words[w]);
+            }
+        }
+        throw new NoSuchElementException();
+    }
+
+    @Override
+    public int max() {
+        for (int w = words.length - 1; w >= 0; w--) {
+            if (words[w] != 0L) {
+                return offset + w * Long.SIZE + Long.SIZE - 1 - Long.numberOfLeadingZeros(words[w]);
+            }
+        }
+        throw new NoSuchElementException();
+    }
+
+    @Override
+    public int[] toArray() {
+        final int[] values = new int[size];
+        toArray(values, 0);
+        return values;
+    }
+
+    @Override
+    public int toArray(final int[] target, final int targetOffset) {
+        int i = targetOffset;
+        for (int w = 0; w < words.length; w++) {
+            for (long rest = words[w]; rest != 0L; rest &= rest - 1) {
+                target[i++] = offset + w * Long.SIZE + Long.numberOfTrailingZeros(rest);
+            }
+        }
+        return size;
+    }
+
+    @Override
+    public List<Integer> values() {
+        final List<Integer> values = new ArrayList<>(size);
+        for (int value : toArray()) {
+            values.add(value);
+        }
+        return values;
+    }
+
+    @Override
+    public Domain copy() {
+        return new BitSetDomain(this);
+    }
+
+    @Override
+    public String toString() {
+        return values().toString();
+    }
+}
@@ -0,0 +1,122 @@
+package de.enricopilz.constraints.description.domain;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.function.IntPredicate;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Set of values a variable can still take.
+ * Bitset implementations are used when the values fit into a small range, large ranges with few gaps are stored
+ * as interval, otherwise the list based fallback.
+ */
+public interface Domain {
+
+    /** larger ranges are not stored as bitsets */
+    int MAX_BITSET_SPAN = 1 << 16;
+
+    int size();
+
+    default boolean isEmpty() {
+        return size() == 0;
+    }
+
+    default boolean isSingleton() {
+        return size() == 1;
+    }
+
+    boolean contains(int value);
+
+    /** @return true, if the value was removed */
+    boolean remove(int value);
+
+    default boolean anyMatch(final IntPredicate predicate) {
+        for (int value : toArray()) {
+            if (predicate.test(value)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /** @return number of removed values */
+    int removeIf(IntPredicate predicate);
+
+    /** @return number of values smaller than the given one, which were removed */
+    default int removeBelow(final int value) {
+        return removeIf(v -> v < value);
+    }
+
+    /** @return number of values larger than the given one, which were removed */
+    default int removeAbove(final int value) {
+        return removeIf(v -> v > value);
+    }
+
+    /** reduce the domain to the given value (empty, if the value was not possible) */
+    void assign(int value);
+
+    int min();
+
+    int max();
+
+    int[] toArray();
+
+    /**
+     * Writes the values to the target from the offset on, without allocating an array.
+     * @return number of values
+     */
+    default int toArray(final int[] target, final int offset) {
+        final int[] values = toArray();
+        System.arraycopy(values, 0, target, offset, values.length);
+        return values.length;
+    }
+
+    List<Integer> values();
+
+    Domain copy();
+
+    static Domain of(final Collection<Integer> values) {
+        if (values.isEmpty()) {
+            return new ListDomain(values);
+        }
+        int min = Integer.MAX_VALUE;
+        int max = Integer.MIN_VALUE;
+        for (int value : values) {
+            min = Math.min(min, value);
+            max = Math.max(max, value);
+        }
+        final long span = (long) max - min + 1;
+        if (span <= LongDomain.CAPACITY) {
+            return new LongDomain(min, values);
+        }
+        if (span <= MAX_BITSET_SPAN) {
+            return new BitSetDomain(min, (int) span, values);
+        }
+        final int[] sorted = values.stream().mapToInt(Integer::intValue).sorted().distinct().toArray();
+        if (span < Integer.MAX_VALUE && span - sorted.length <= sorted.length) {
+            // mostly consecutive, the missing values are stored as holes
+            final int[] holes = new int[(int) span - sorted.length];
+            int h = 0;
+            for (int i = 1; i < sorted.length; i++) {
+                for (int hole = sorted[i - 1] + 1; hole < sorted[i]; hole++) {
+                    holes[h++] = hole;
+                }
+            }
+            return new IntervalDomain(min, max, holes, holes.length);
+        }
+        return new ListDomain(values);
+    }
+
+    /** all values from min to max, only the bounds are stored */
+    static Domain range(final int min, final int max) {
+        if (min > max) {
+            throw new IllegalArgumentException("Empty range: " + min + ".." + max);
+        }
+        final long span = (long) max - min + 1;
+        if (span <= LongDomain.CAPACITY) {
+            return new LongDomain(min, IntStream.rangeClosed(min, max).boxed().collect(Collectors.toList()));
+        }
+        return new IntervalDomain(min, max);
+    }
+}
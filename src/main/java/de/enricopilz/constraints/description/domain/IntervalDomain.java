@@ -0,0 +1,269 @@
+package de.enricopilz.constraints.description.domain;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.function.IntPredicate;
+
+/**
+ * Domain of a large range, stored as bounds and a sorted array of the removed values (holes) in between.
+ * Memory and copies cost O(holes) instead of O(values), changing the bounds is cheap.
+ */
+public class IntervalDomain implements Domain {
+
+    private int min;
+
+    private int max;
+
+    private int size;
+
+    // sorted, all strictly between min and max, in holes[first..last)
+    private int[] holes;
+    private int first;
+    private int last;
+
+    IntervalDomain(final int min, final int max) {
+        this(min, max, new int[0], 0);
+    }
+
+    IntervalDomain(final int min, final int max, final int[] holes, final int holeCount) {
+        if ((long) max - min + 1 > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Range too large: " + min + ".." + max);
+        }
+        this.min = min;
+        this.max = max;
+        this.holes = holes;
+        this.first = 0;
+        this.last = holeCount;
+        this.size = max < min ? 0 : max - min + 1 - holeCount;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public boolean contains(final int value) {
+        return size > 0 && value >= min && value <= max && Arrays.binarySearch(holes, first, last, value) < 0;
+    }
+
+    @Override
+    public boolean remove(final int value) {
+        if (!contains(value)) {
+            return false;
+        }
+        if (min == max) {
+            // value + 1 or value - 1 may overflow
+            clear();
+        } else if (value == min) {
+            removeBelow(value + 1);
+        } else if (value == max) {
+            removeAbove(value - 1);
+        } else {
+            final int shifted = insertionPoint(value) - first;
+            if (last == holes.length) {
+                compact(Math.max(8, 2 * (last - first + 1)));
+            }
+            System.arraycopy(holes, first + shifted, holes, first + shifted + 1, last - first - shifted);
+            holes[first + shifted] = value;
+            last++;
+            size--;
+        }
+        return true;
+    }
+
+    @Override
+    public boolean anyMatch(final IntPredicate predicate) {
+        int h = first;
+        for (long value = min; size > 0 && value <= max; value++) {
+            if (h < last && holes[h] == value) {
+                h++;
+            } else if (predicate.test((int) value)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public int removeIf(final IntPredicate predicate) {
+        if (size == 0) {
+            return 0;
+        }
+        // new holes are the old ones and the removed values between the first and the last value kept
+        int[] newHoles = new int[last - first];
+        int count = 0;
+        long newMin = Long.MAX_VALUE;
+        long newMax = Long.MIN_VALUE;
+        int kept = 0;
+        int h = first;
+        for (long value = min; value <= max; value++) {
+            final boolean hole = h < last && holes[h] == value;
+            if (hole) {
+                h++;
+            }
+            if (hole || predicate.test((int) value)) {
+                if (newMin != Long.MAX_VALUE) {
+                    if (count == newHoles.length) {
+                        newHoles = Arrays.copyOf(newHoles, Math.max(8, 2 * count));
+                    }
+                    newHoles[count++] = (int) value;
+                }
+            } else {
+                if (newMin == Long.MAX_VALUE) {
+                    newMin = value;
+                }
+                newMax = value;
+                kept++;
+            }
+        }
+        final int removed = size - kept;
+        if (kept == 0) {
+            size = 0;
+            first = last;
+            return removed;
+        }
+        // holes after the last value kept are not inside the bounds
+        while (count > 0 && newHoles[count - 1] > newMax) {
+            count--;
+        }
+        min = (int) newMin;
+        max = (int) newMax;
+        holes = newHoles;
+        first = 0;
+        last = count;
+        size = kept;
+        return removed;
+    }
+
+    @Override
+    public int removeBelow(final int value) {
+        if (size == 0 || value <= min) {
+            return 0;
+        }
+        if (value > max) {
+            return clear();
+        }
+        final int position = insertionPoint(value);
+        final int removed = value - min - (position - first);
+        first = position;
+        min = value;
+        // the new minimum may be a hole itself
+        while (first < last && holes[first] == min) {
+            first++;
+            min++;
+        }
+        size -= removed;
+        return removed;
+    }
+
+    @Override
+    public int removeAbove(final int value) {
+        if (size == 0 || value >= max) {
+            return 0;
+        }
+        if (value < min) {
+            return clear();
+        }
+        final int position = insertionPoint(value + 1);
+        final int removed = max - value - (last - position);
+        last = position;
+        max = value;
+        while (first < last && holes[last - 1] == max) {
+            last--;
+            max--;
+        }
+        size -= removed;
+        return removed;
+    }
+
+    @Override
+    public void assign(final int value) {
+        if (contains(value)) {
+            min = value;
+            max = value;
+            size = 1;
+        } else {
+            size = 0;
+        }
+        first = last;
+    }
+
+    @Override
+    public int min() {
+        if (size == 0) {
+            throw new NoSuchElementException();
+        }
+        return min;
+    }
+
+    @Override
+    public int max() {
+        if (size == 0) {
+            throw new NoSuchElementException();
+        }
+        return max;
+    }
+
+    @Override
+    public int[] toArray() {
+        final int[] values = new int[size];
+        int i = 0;
+        int h = first;
+        for (long value = min; i < size; value++) {
+            if (h < last && holes[h] == value) {
+                h++;
+            } else {
+                values[i++] = (int) value;
+            }
+        }
+        return values;
+    }
+
+    @Override
+    public List<Integer> values() {
+        final List<Integer> values = new ArrayList<>(size);
+        for (int value : toArray()) {
+            values.add(value);
+        }
+        return values;
+    }
+
+    @Override
+    public Domain copy() {
+        final IntervalDomain copy = new IntervalDomain(min, max, Arrays.copyOfRange(holes, first, last), last - first);
+        copy.size = size;
+        return copy;
+    }
+
+    @Override
+    public String toString() {
+        if (size == 0) {
+            return "[]";
+        }
+        return "[" + min + ".." + max + (last > first ? " without " + (last - first) + " values]" : "]");
+    }
+
+    private int clear() {
+        final int removed = size;
+        size = 0;
+        first = last;
+        return removed;
+    }
+
+    /** position of the first hole not smaller than the value */
+    private int insertionPoint(final int value) {
+        final int position = Arrays.binarySearch(holes, first, last, value);
+        return position >= 0 ? position : -position - 1;
+    }
+
+    private void compact(final int capacity) {
+        final int[] compacted = new int[capacity];
+        System.arraycopy(holes, first, compacted, 0, last - first);
+        last -= first;
+        first = 0;
+        holes = compacted;
+    }
+}
@@ -0,0 +1,78 @@
+package de.enricopilz.constraints.description.domain;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.function.IntPredicate;
+
+/** Fallback for values spread over a large range: possible values as List */
+public class ListDomain implements Domain {
+
+    private final List<Integer> possibilities;
+
+    ListDomain(final Collection<Integer> possibilities) {
+        this.possibilities = new ArrayList<>(possibilities);
+    }
+
+    @Override
+    public int size() {
+        return possibilities.size();
+    }
+
+    @Override
+    public boolean contains(final int value) {
+        return possibilities.contains(value);
+    }
+
+    @Override
+    public boolean remove(final int value) {
+        return possibilities.remove(Integer.valueOf(value));
+    }
+
+    @Override
+    public int removeIf(final IntPredicate predicate) {
+        final int before = possibilities.size();
+        possibilities.removeIf(predicate::test);
+        return before - possibilities.size();
+    }
+
+    @Override
+    public void assign(final int value) {
+        final boolean contained = contains(value);
+        possibilities.clear();
+        if (contained) {
+            possibilities.add(value);
+        }
+    }
+
+    @Override
+    public int min() {
+        return possibilities.stream().min(Integer::compareTo).orElseThrow(NoSuchElementException::new);
+    }
+
+    @Override
+    public int max() {
+        return possibilities.stream().max(Integer::compareTo).orElseThrow(NoSuchElementException::new);
+    }
+
+    @Override
+    public int[] toArray() {
+        return possibilities.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    @Override
+    public List<Integer> values() {
+        return new ArrayList<>(possibilities);
+    }
+
+    @Override
+    public Domain copy() {
+        return new ListDomain(possibilities);
+    }
+
+    @Override
+    public String toString() {
+        return possibilities.toString();
+    }
+}
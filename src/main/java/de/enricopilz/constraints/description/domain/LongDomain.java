@@ -0,0 +1,151 @@
+package de.enricopilz.constraints.description.domain;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.function.IntPredicate;
+
+/** Domain with at most 64 consecutive values, stored in a single long */
+public class LongDomain implements Domain {
+
+    public static final int CAPACITY = Long.SIZE;
+
+    // value of bit 0
+    private final int offset;
+
+    private long bits;
+
+    LongDomain(final int offset, final Collection<Integer> values) {
+        this.offset = offset;
+        for (int value : values) {
+            this.bits |= 1L << (value - offset);
+        }
+    }
+
+    private LongDomain(final int offset, final long bits) {
+        this.offset = offset;
+        this.bits = bits;
+    }
+
+    @Override
+    public int size() {
+        return Long.bitCount(bits);
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return bits == 0L;
+    }
+
+    @Override
+    public boolean isSingleton() {
+        return bits != 0L && (bits & (bits - 1)) == 0L;
+    }
+
+    @Override
+    public boolean contains(final int value) {
+        final int bit = value - offset;
+        return bit >= 0 && bit < CAPACITY && (bits & (1L << bit)) != 0L;
+    }
+
+    @Override
+    public boolean remove(final int value) {
+        if (!contains(value)) {
+            return false;
+        }
+        bits &= ~(1L << (value - offset));
+        return true;
+    }
+
+    @Override
+    public int removeIf(final IntPredicate predicate) {
+        long removals = 0L;
+        for (long rest = bits; rest != 0L; rest &= rest - 1) {
+            final int bit = Long.numberOfTrailingZeros(rest);
+            if (predicate.test(offset + bit)) {
+                removals |= 1L << bit;
+            }
+        }
+        bits &= ~removals;
+        return Long.bitCount(removals);
+    }
+
+    @Override
+    public int removeBelow(final int value) {
+        final long bit = (long) value - offset;
+        if (bit <= 0) {
+            return 0;
+        }
+        final long removals = bit >= CAPACITY ? bits : bits & ((1L << bit) - 1);
+        bits &= ~removals;
+        return Long.bitCount(removals);
+    }
+
+    @Override
+    public int removeAbove(final int value) {
+        final long bit = (long) value - offset;
+        if (bit >= CAPACITY - 1) {
+            return 0;
+        }
+        final long removals = bit < 0 ? bits : bits & (-1L << (bit + 1));
+        bits &= ~removals;
+        return Long.bitCount(removals);
+    }
+
+    @Override
+    public void assign(final int value) {
+        bits = contains(value) ? 1L << (value - offset) : 0L;
+    }
+
+    @Override
+    public int min() {
+        if (bits == 0L) {
+            throw new NoSuchElementException();
+        }
+        return offset + Long.numberOfTrailingZeros(bits);
+    }
+
+    @Override
+    public int max() {
+        if (bits == 0L) {
+            throw new NoSuchElementException();
+        }
+        return offset + CAPACITY - 1 - Long.numberOfLeadingZeros(bits);
+    }
+
+    @Override
+    public int[] toArray() {
+        final int[] values = new int[size()];
+        toArray(values, 0);
+        return values;
+    }
+
+    @Override
+    public int toArray(final int[] target, final int targetOffset) {
+        int i = targetOffset;
+        for (long rest = bits; rest != 0L; rest &= rest - 1) {
+            target[i++] = offset + Long.numberOfTrailingZeros(rest);
+        }
+        return i - targetOffset;
+    }
+
+    @Override
+    public List<Integer> values() {
+        final List<Integer> values = new ArrayList<>(size());
+        for (int value : toArray()) {
+            values.add(value);
+        }
+        return values;
+    }
+
+    @Override
+    public Domain copy() {
+        return new LongDomain(offset, bits);
+    }
+
+    @Override
+    public String toString() {
+        return values().toString();
+    }
+}
@@ -0,0 +1,338 @@
+package de.enricopilz.constraints.solver;
+
+import de.enricopilz.constraints.UnsatisfiableException;
+import de.enricopilz.constraints.description.Variable;
+
+import java.util.Arrays;
+
+/**
+ * Generalized arc consistency for all different (Régin): a value stays only,
+ * if the edge variable - value is part of some maximum matching in the value graph.
+ * Both graph searches use explicit stacks, paths and cycles can be as long as the graph.
+ */
+class AllDifferentPropagator<S> implements Propagator<S> {
+
+    /** maximal sum of the domain sizes, larger domains use {@link PairwiseAllDifferentPropagator} */
+    static final long MAX_VALUE_GRAPH_SIZE = 1 << 16;
+
+    private static final int NONE = -1;
+
+    // variable indices
+    private final int[] scope;
+
+    private final int n;
+
+    // matched value per variable from the last run, good start for the next matching
+    private final int[] lastMatch;
+
+    // Value graph of the current run. The buffers are sized for the initial domains, which only shrink.
+    // Values are numbered by their position in the sorted array values, the first m are used.
+    private final Variable<S>[] variables;
+    private final int[] values;
+    private int m;
+    // numbers of the values of variable x: varEdges[varStart[x]] to varEdges[varStart[x + 1] - 1]
+    private final int[] varStart;
+    private final int[] varEdges;
+    // variables of value v: valueEdges[valueStart[v]] to valueEdges[valueStart[v + 1] - 1]
+    private final int[] valueStart;
+    private final int[] valueEdges;
+    private final int[] degree;
+    private final int[] varMatch;
+    private final int[] valueMatch;
+    private final boolean[] visited;
+    private final boolean[] reachable;
+    private final int[] queue;
+
+    // augmenting path: variable and value taken at each depth
+    private final int[] pathVariables;
+    private final int[] pathValues;
+
+    // next edge of each node, in the augmenting path and in Tarjan
+    private final int[] cursors;
+
+    // Tarjan
+    private final int[] order;
+    private final int[] lowLink;
+    private final int[] component;
+    private final int[] stack;
+    private final boolean[] onStack;
+    private final int[] callStack;
+    private int stackSize;
+    private int counter;
+    private int components;
+
+    /** @param capacity sum of the initial domain sizes of the variables */
+    @SuppressWarnings("unchecked")
+    AllDifferentPropagator(final int[] scope, final int capacity) {
+        this.scope = scope;
+        this.n = scope.length;
+        this.lastMatch = new int[n];
+        Arrays.fill(lastMatch, Integer.MIN_VALUE);
+        this.variables = (Variable<S>[]) new Variable<?>[n];
+        this.values = new int[capacity];
+        this.varStart = new int[n + 1];
+        this.varEdges = new int[capacity];
+        this.valueStart = new int[capacity + 1];
+        this.valueEdges = new int[capacity];
+        this.degree = new int[capacity];
+        this.varMatch = new int[n];
+        this.valueMatch = new int[capacity];
+        this.visited = new boolean[capacity];
+        this.reachable = new boolean[capacity];
+        this.queue = new int[capacity];
+        this.pathVariables = new int[n];
+        this.pathValues = new int[n];
+        this.cursors = new int[n + capacity];
+        this.order = new int[n + capacity];
+        this.lowLink = new int[n + capacity];
+        this.component = new int[n + capacity];
+        this.stack = new int[n + capacity];
+        this.onStack = new boolean[n + capacity];
+        this.callStack = new int[n + capacity];
+    }
+
+    @Override
+    public int[] getScope() {
+        return scope;
+    }
+
+    @Override
+    public void propagate(final PropagationEngine<S> engine) throws UnsatisfiableException {
+        buildValueGraph(engine);
+        // pigeonhole
+        if (m < n) {
+            throw Contradiction.INSTANCE;
+        }
+        if (!findMaximumMatching()) {
+            throw Contradiction.INSTANCE;
+        }
+        for (int x = 0; x < n; x++) {
+            lastMatch[x] = values[varMatch[x]];
+        }
+        markReachableFromFreeValues();
+        findStronglyConnectedComponents();
+        for (int x = 0; x < n; x++) {
+            if (hasRemovableEdge(x)) {
+                final int xComponent = component[x];
+                final int matched = varMatch[x];
+                engine.removeIf(variables[x], value -> {
+                    final int v = Arrays.binarySearch(values, 0, m, value);
+                    return v != matched && !reachable[v] && component[n + v] != xComponent;
+                });
+            }
+        }
+    }
+
+    // the domain is only changed, if one of its values belongs to no maximum matching
+    private boolean hasRemovableEdge(final int x) {
+        for (int e = varStart[x]; e < varStart[x + 1]; e++) {
+            final int v = varEdges[e];
+            if (v != varMatch[x] && !reachable[v] && component[n + v] != component[x]) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public int countConflicts(final PropagationEngine<S> engine, final Variable<S> variable, final int value) {
+        int conflicts = 0;
+        for (int index : scope) {
+            if (index != variable.getIndex() && engine.get(index).contains(value)) {
+                conflicts++;
+            }
+        }
+        return conflicts;
+    }
+
+    private void buildValueGraph(final PropagationEngine<S> engine) {
+        int total = 0;
+        for (int x = 0; x < n; x++) {
+            variables[x] = engine.get(scope[x]);
+            varStart[x] = total;
+            total += variables[x].getDomain().toArray(varEdges, total);
+        }
+        varStart[n] = total;
+        // all values, sorted and unique
+        System.arraycopy(varEdges, 0, values, 0, total);
+        Arrays.sort(values, 0, total);
+        m = 0;
+        for (int i = 0; i < total; i++) {
+            if (m == 0 || values[m - 1] != values[i]) {
+                values[m++] = values[i];
+            }
+        }
+
+        Arrays.fill(degree, 0, m, 0);
+        for (int e = 0; e < total; e++) {
+            final int v = Arrays.binarySearch(values, 0, m, varEdges[e]);
+            varEdges[e] = v;
+            degree[v]++;
+        }
+        valueStart[0] = 0;
+        for (int v = 0; v < m; v++) {
+            valueStart[v + 1] = valueStart[v] + degree[v];
+            degree[v] = 0;
+        }
+        for (int x = 0; x < n; x++) {
+            for (int e = varStart[x]; e < varStart[x + 1]; e++) {
+                final int v = varEdges[e];
+                valueEdges[valueStart[v] + degree[v]++] = x;
+            }
+        }
+    }
+
+    private boolean findMaximumMatching() {
+        Arrays.fill(varMatch, NONE);
+        Arrays.fill(valueMatch, 0, m, NONE);
+        // keep the matching of the last run as far as possible
+        for (int x = 0; x < n; x++) {
+            final int v = Arrays.binarySearch(values, 0, m, lastMatch[x]);
+            if (v >= 0 && valueMatch[v] == NONE && variables[x].contains(lastMatch[x])) {
+                varMatch[x] = v;
+                valueMatch[v] = x;
+            }
+        }
+        for (int x = 0; x < n; x++) {
+            if (varMatch[x] == NONE) {
+                Arrays.fill(visited, 0, m, false);
+                if (!augment(x)) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    // augmenting path from variable x, depth first with the variables of the path on a stack
+    private boolean augment(final int x) {
+        int depth = 0;
+        pathVariables[0] = x;
+        cursors[x] = varStart[x];
+        while (depth >= 0) {
+            final int current = pathVariables[depth];
+            if (cursors[current] == varStart[current + 1]) {
+                // no free value behind this variable
+                depth--;
+                continue;
+            }
+            final int v = varEdges[cursors[current]++];
+            if (visited[v]) {
+                continue;
+            }
+            visited[v] = true;
+            pathValues[depth] = v;
+            if (valueMatch[v] == NONE) {
+                // each variable of the path takes the value it went on with
+                for (int d = depth; d >= 0; d--) {
+                    varMatch[pathVariables[d]] = pathValues[d];
+                    valueMatch[pathValues[d]] = pathVariables[d];
+                }
+                return true;
+            }
+            final int next = valueMatch[v];
+            pathVariables[++depth] = next;
+            cursors[next] = varStart[next];
+        }
+        return false;
+    }
+
+    // Edges are directed variable -> matched value and value -> other variable.
+    // An edge on an alternating path starting at a free value belongs to some maximum matching.
+    private void markReachableFromFreeValues() {
+        Arrays.fill(reachable, 0, m, false);
+        int head = 0;
+        int tail = 0;
+        for (int v = 0; v < m; v++) {
+            if (valueMatch[v] == NONE) {
+                reachable[v] = true;
+                queue[tail++] = v;
+            }
+        }
+        while (head < tail) {
+            final int v = queue[head++];
+            for (int e = valueStart[v]; e < valueStart[v + 1]; e++) {
+                final int next = varMatch[valueEdges[e]];
+                if (next != v && !reachable[next]) {
+                    reachable[next] = true;
+                    queue[tail++] = next;
+                }
+            }
+        }
+    }
+
+    // Edges within a strongly connected component lie on an even alternating cycle.
+    // nodes: variables 0..n-1, values n..n+m-1
+    private void findStronglyConnectedComponents() {
+        final int nodes = n + m;
+        Arrays.fill(order, 0, nodes, NONE);
+        stackSize = 0;
+        counter = 0;
+        components = 0;
+        for (int node = 0; node < nodes; node++) {
+            if (order[node] == NONE) {
+                strongConnect(node);
+            }
+        }
+    }
+
+    private void strongConnect(final int root) {
+        int depth = 0;
+        enter(root);
+        callStack[0] = root;
+        while (depth >= 0) {
+            final int node = callStack[depth];
+            final int successor = nextSuccessor(node);
+            if (successor != NONE) {
+                if (order[successor] == NONE) {
+                    enter(successor);
+                    callStack[++depth] = successor;
+                } else if (onStack[successor]) {
+                    lowLink[node] = Math.min(lowLink[node], order[successor]);
+                }
+                continue;
+            }
+            if (lowLink[node] == order[node]) {
+                int member;
+                do {
+                    member = stack[--stackSize];
+                    onStack[member] = false;
+                    component[member] = components;
+                } while (member != node);
+                components++;
+            }
+            depth--;
+            if (depth >= 0) {
+                lowLink[callStack[depth]] = Math.min(lowLink[callStack[depth]], lowLink[node]);
+            }
+        }
+    }
+
+    private void enter(final int node) {
+        order[node] = counter;
+        lowLink[node] = counter;
+        counter++;
+        stack[stackSize++] = node;
+        onStack[node] = true;
+        cursors[node] = node < n ? 0 : valueStart[node - n];
+    }
+
+    // variable -> its matched value, value -> the other variables of the value, NONE after the last one
+    private int nextSuccessor(final int node) {
+        if (node < n) {
+            if (cursors[node] == 0) {
+                cursors[node] = 1;
+                return n + varMatch[node];
+            }
+            return NONE;
+        }
+        final int v = node - n;
+        while (cursors[node] < valueStart[v + 1]) {
+            final int x = valueEdges[cursors[node]++];
+            if (varMatch[x] != v) {
+                return x;
+            }
+        }
+        return NONE;
+    }
+}
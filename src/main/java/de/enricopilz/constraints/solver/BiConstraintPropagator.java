@@ -0,0 +1,74 @@
+package de.enricopilz.constraints.solver;
+
+import de.enricopilz.constraints.UnsatisfiableException;
+import de.enricopilz.constraints.description.Variable;
+import de.enricopilz.constraints.description.constraint.BiConstraint;
+
+/** arc consistency (AC-3 revise) for a binary constraint */
+class BiConstraintPropagator<S> implements Propagator<S> {
+
+    private final BiConstraint<S> constraint;
+
+    // variable indices of a and b
+    private final int[] scope;
+
+    BiConstraintPropagator(final BiConstraint<S> constraint, final int[] scope) {
+        this.constraint = constraint;
+        this.scope = scope;
+    }
+
+    @Override
+    public int[] getScope() {
+        return scope;
+    }
+
+    @Override
+    public void propagate(final PropagationEngine<S> engine) throws UnsatisfiableException {
+        final Variable<S> a = engine.get(scope[0]);
+        final Variable<S> b = engine.get(scope[1]);
+        reviseA(engine, a, b);
+        // every removal in one variable can remove the support of values in the other one
+        while (reviseB(engine, a, b) && reviseA(engine, a, b)) {
+            // until fixpoint
+        }
+    }
+
+    @Override
+    public int countConflicts(final PropagationEngine<S> engine, final Variable<S> variable, final int value) {
+        final boolean isA = variable.getIndex() == scope[0];
+        final Variable<S> other = engine.get(isA ? scope[1] : scope[0]);
+        int conflicts = 0;
+        for (int otherValue : other.getDomain().toArray()) {
+            if (isA ? !constraint.match(value, otherValue) : !constraint.match(otherValue, value)) {
+                conflicts++;
+            }
+        }
+        return conflicts;
+    }
+
+    private boolean reviseA(final PropagationEngine<S> engine, final Variable<S> a, final Variable<S> b)
+            throws UnsatisfiableException {
+        final int[] bValues = b.getDomain().toArray();
+        return engine.removeIf(a, x -> {
+            for (int y : bValues) {
+                if (constraint.match(x, y)) {
+                    return false;
+                }
+            }
+            return true;
+        });
+    }
+
+    private boolean reviseB(final PropagationEngine<S> engine, final Variable<S> a, final Variable<S> b)
+            throws UnsatisfiableException {
+        final int[] aValues = a.getDomain().toArray();
+        return engine.removeIf(b, y -> {
+            for (int x : aValues) {
+                if (constraint.match(x, y)) {
+                    return false;
+                }
+            }
+            return true;
+        });
+    }
+}
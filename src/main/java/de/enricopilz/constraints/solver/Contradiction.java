@@ -0,0 +1,18 @@
+package de.enricopilz.constraints.solver;
+
+import de.enricopilz.constraints.UnsatisfiableException;
+
+/**
+ * Failed propagation. Failures happen millions of times in a search, so there is only one instance
+ * without stack trace. It never leaves the solver.
+ */
+final class Contradiction extends UnsatisfiableException {
+
+    private static final long serialVersionUID = 1L;
+
+    static final Contradiction INSTANCE = new Contradiction();
+
+    private Contradiction() {
+        super("contradiction", false);
+    }
+}
@@ -0,0 +1,186 @@
+package de.enricopilz.constraints.solver;
+
+/**
+ * Knuth's Algorithm X with dancing links. The nodes are kept in int arrays:
+ * node 0 is the root, the nodes 1..columns are the column headers, the others belong to rows.
+ * Secondary columns are not linked to the root, so they never have to be covered.
+ * <p>
+ * The search is iterative, {@link #next()} continues after the last solution.
+ */
+class DancingLinks {
+
+    private static final int ROOT = 0;
+
+    private final int[] left;
+    private final int[] right;
+    private final int[] up;
+    private final int[] down;
+    private final int[] column;
+    private final int[] row;
+
+    // number of nodes in each column, indexed by header node
+    private final int[] size;
+
+    // chosen node on each level
+    private final int[] choices;
+
+    private int level;
+
+    // false: backtrack before searching on
+    private boolean descending = true;
+
+    private final SearchLimits limits;
+
+    private final StatisticsCollector statistics;
+
+    DancingLinks(final int primaryColumns, final int secondaryColumns, final int[][] columnsOfRows,
+                 final SearchLimits limits, final StatisticsCollector statistics) {
+        final int columns = primaryColumns + secondaryColumns;
+        int nodes = columns + 1;
+        for (int[] columnsOfRow : columnsOfRows) {
+            nodes += columnsOfRow.length;
+        }
+        this.left = new int[nodes];
+        this.right = new int[nodes];
+        this.up = new int[nodes];
+        this.down = new int[nodes];
+        this.column = new int[nodes];
+        this.row = new int[nodes];
+        this.size = new int[columns + 1];
+        // a row covers at least one primary column, so there are at most as many levels
+        this.choices = new int[primaryColumns + 1];
+        this.limits = limits;
+        this.statistics = statistics;
+
+        left[ROOT] = primaryColumns;
+        right[primaryColumns] = ROOT;
+        for (int header = 1; header <= columns; header++) {
+            up[header] = header;
+            down[header] = header;
+            column[header] = header;
+            if (header <= primaryColumns) {
+                left[header] = header - 1;
+                right[header - 1] = header;
+            } else {
+                left[header] = header;
+                right[header] = header;
+            }
+        }
+        int node = columns + 1;
+        for (int r = 0; r < columnsOfRows.length; r++) {
+            final int first = node;
+            for (int c : columnsOfRows[r]) {
+                final int header = c + 1;
+                column[node] = header;
+                row[node] = r;
+                up[node] = up[header];
+                down[node] = header;
+                down[up[header]] = node;
+                up[header] = node;
+                size[header]++;
+                if (node > first) {
+                    left[node] = node - 1;
+                    right[node - 1] = node;
+                }
+                node++;
+            }
+            if (node > first) {
+                left[first] = node - 1;
+                right[node - 1] = first;
+            }
+        }
+    }
+
+    /** @return false, if there are no more solutions or a limit was hit */
+    boolean next() {
+        while (true) {
+            if (descending) {
+                if (right[ROOT] == ROOT) {
+                    descending = false;
+                    return limits.solution();
+                }
+                if (limits.isStopped() || !limits.node()) {
+                    return false;
+                }
+                statistics.node(level + 1);
+                final int header = chooseColumn();
+                if (size[header] == 0) {
+                    limits.failure();
+                    statistics.failure();
+                    descending = false;
+                    continue;
+                }
+                cover(header);
+                choose(down[header]);
+            } else {
+                if (level == 0) {
+                    return false;
+                }
+                level--;
+                final int node = choices[level];
+                for (int j = left[node]; j != node; j = left[j]) {
+                    uncover(column[j]);
+                }
+                if (down[node] == column[node]) {
+                    // all rows of the column tried
+                    uncover(column[node]);
+                } else {
+                    choose(down[node]);
+                }
+            }
+        }
+    }
+
+    private void choose(final int node) {
+        statistics.guess();
+        choices[level++] = node;
+        for (int j = right[node]; j != node; j = right[j]) {
+            cover(column[j]);
+        }
+        descending = true;
+    }
+
+    /** rows of the current solution */
+    int[] solution() {
+        final int[] rows = new int[level];
+        for (int l = 0; l < level; l++) {
+            rows[l] = row[choices[l]];
+        }
+        return rows;
+    }
+
+    // the column with the fewest rows
+    private int chooseColumn() {
+        int best = right[ROOT];
+        for (int header = right[best]; header != ROOT; header = right[header]) {
+            if (size[header] < size[best]) {
+                best = header;
+            }
+        }
+        return best;
+    }
+
+    private void cover(final int header) {
+        right[left[header]] = right[header];
+        left[right[header]] = left[header];
+        for (int i = down[header]; i != header; i = down[i]) {
+            for (int j = right[i]; j != i; j = right[j]) {
+                down[up[j]] = down[j];
+                up[down[j]] = up[j];
+                size[column[j]]--;
+            }
+        }
+    }
+
+    private void uncover(final int header) {
+        for (int i = up[header]; i != header; i = up[i]) {
+            for (int j = left[i]; j != i; j = left[j]) {
+                size[column[j]]++;
+                down[up[j]] = j;
+                up[down[j]] = j;
+            }
+        }
+        right[left[header]] = header;
+        left[right[header]] = header;
+    }
+}
@@ -0,0 +1,148 @@
+package de.enricopilz.constraints.solver;
+
+import de.enricopilz.constraints.api.ExactCoverProblem;
+import de.enricopilz.constraints.api.Problem;
+import de.enricopilz.constraints.api.Solution;
+import de.enricopilz.constraints.api.Solver;
+import de.enricopilz.constraints.api.SolverConfiguration;
+import de.enricopilz.constraints.api.SolverStatistics;
+import de.enricopilz.constraints.api.Termination;
+import de.enricopilz.constraints.description.CompiledProblem;
+import de.enricopilz.constraints.description.Variables;
+import de.enricopilz.constraints.description.constraint.AllDifferentConstraint;
+import de.enricopilz.constraints.description.constraint.Constraint;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Optional;
+import java.util.TreeSet;
+import java.util.function.Consumer;
+
+/**
+ * Solves problems with only all different and unary constraints as exact cover:
+ * each pair of variable and value is a row, each variable has to be covered exactly once,
+ * each value of an all different constraint at most once, or exactly once if there are as many values as variables.
+ * <p>
+ * S : Type of symbols
+ */
+public class DancingLinksSolver<S> implements Solver<S> {
+
+    private final CompiledProblem<S> problem;
+
+    // the rows are pairs of variable index and value
+    private final ExactCoverSolver<int[]> solver;
+
+    public DancingLinksSolver(final Problem<S> problem) {
+        this(problem, SolverConfiguration.defaults());
+    }
+
+    public DancingLinksSolver(final Problem<S> problem, final SolverConfiguration configuration) {
+        if (problem.getVariables().isEmpty()) {
+            throw new IllegalArgumentException("Cannot solve a problem without variables.");
+        }
+        this.problem = problem.getCompiled();
+        this.solver = new ExactCoverSolver<>(toExactCover(this.problem), configuration);
+    }
+
+    private static <S> ExactCoverProblem<int[]> toExactCover(final CompiledProblem<S> problem) {
+        final Variables<S> variables = problem.newVariables();
+        final List<Constraint<S>> constraints = problem.getConstraints();
+        // sorted values and first column of each all different constraint
+        final int[][] values = new int[constraints.size()][];
+        final int[] firstColumn = new int[constraints.size()];
+        final boolean[] primary = new boolean[constraints.size()];
+        int primaryColumns = variables.size();
+        int secondaryColumns = 0;
+        for (int c = 0; c < constraints.size(); c++) {
+            if (!(constraints.get(c) instanceof AllDifferentConstraint)) {
+                throw new IllegalArgumentException("Only all different and unary constraints are supported: " + constraints.get(c));
+            }
+            final TreeSet<Integer> union = new TreeSet<>();
+            for (int index : problem.getScope(c)) {
+                union.addAll(variables.get(index).getPossibilities());
+            }
+            values[c] = union.stream().mapToInt(Integer::intValue).toArray();
+            // every value has to be used, if there are as many values as variables
+            primary[c] = values[c].length == problem.getScope(c).length;
+            if (primary[c]) {
+                firstColumn[c] = primaryColumns;
+                primaryColumns += values[c].length;
+            } else {
+                firstColumn[c] = secondaryColumns;
+                secondaryColumns += values[c].length;
+            }
+        }
+        for (int c = 0; c < constraints.size(); c++) {
+            if (!primary[c]) {
+                firstColumn[c] += primaryColumns;
+            }
+        }
+        final List<int[]> rows = new ArrayList<>();
+        final List<int[]> columnsOfRows = new ArrayList<>();
+        if (problem.isConsistent()) {
+            for (int index = 0; index < variables.size(); index++) {
+                final int[] constraintsOfVariable = problem.getConstraintsOfVariable(index);
+                for (int value : variables.get(index).getDomain().toArray()) {
+                    final int[] columns = new int[constraintsOfVariable.length + 1];
+                    columns[0] = index;
+                    for (int k = 0; k < constraintsOfVariable.length; k++) {
+                        final int c = constraintsOfVariable[k];
+                        columns[k + 1] = firstColumn[c] + Arrays.binarySearch(values[c], value);
+                    }
+                    rows.add(new int[]{index, value});
+                    columnsOfRows.add(columns);
+                }
+            }
+        }
+        return ExactCoverProblem.of(primaryColumns, secondaryColumns, rows, columnsOfRows.toArray(new int[0][]));
+    }
+
+    @Override
+    public Iterator<Solution<S>> iterator() {
+        final Iterator<int[]> rows = solver.rowIterator();
+        return new Iterator<>() {
+            @Override
+            public boolean hasNext() {
+                return rows.hasNext();
+            }
+
+            @Override
+            public Solution<S> next() {
+                final List<int[]> labels = solver.getProblem().getRows();
+                final Variables<S> variables = problem.newVariables();
+                for (int row : rows.next()) {
+                    variables.get(labels.get(row)[0]).guessValue(labels.get(row)[1]);
+                }
+                return variables.extractSolution();
+            }
+        };
+    }
+
+    /** the exact cover has only all different constraints, so an objective is rejected by the constructor */
+    @Override
+    public Optional<Solution<S>> optimize(final Consumer<Solution<S>> improvements) {
+        throw new IllegalStateException("The problem has no objective.");
+    }
+
+    @Override
+    public long countSolutions() {
+        return solver.countSolutions();
+    }
+
+    @Override
+    public long countSolutions(final long limit) {
+        return solver.countSolutions(limit);
+    }
+
+    @Override
+    public SolverStatistics getStatistics() {
+        return solver.getStatistics();
+    }
+
+    @Override
+    public Termination getTermination() {
+        return solver.getTermination();
+    }
+}
@@ -1,14 +1,15 @@
 package de.enricopilz.constraints.solver;
 
-import de.enricopilz.constraints.UnsatisfiableException;
-import de.enricopilz.constraints.api.*;
-import de.enricopilz.constraints.description.Variable;
-import de.enricopilz.constraints.description.Variables;
-import de.enricopilz.constraints.description.constraint.BiConstraint;
-import de.enricopilz.constraints.description.constraint.SimConstraint;
+import de.enricopilz.constraints.api.Problem;
+import de.enricopilz.constraints.api.Solution;
+import de.enricopilz.constraints.api.Solver;
+import de.enricopilz.constraints.api.SolverConfiguration;
+import de.enricopilz.constraints.api.SolverStatistics;
+import de.enricopilz.constraints.api.Termination;
 
-import java.util.*;
-import java.util.function.Function;
+import java.util.Iterator;
+import java.util.Optional;
+import java.util.function.Consumer;
 
 /**
  * S : Type of symbols
@@ -17,104 +18,59 @@ public class DeepFirstSearchSolver<S> implements Solver<S> {
 
     private final Problem<S> problem;
 
-    private List<Solution<S>> solutions;
+    private final SolverConfiguration configuration;
+
+    private volatile Search<S> lastSearch;
 
     public DeepFirstSearchSolver(final Problem<S> problem) {
+        this(problem, SolverConfiguration.defaults());
+    }
+
+    public DeepFirstSearchSolver(final Problem<S> problem, final SolverConfiguration configuration) {
         if (problem.getVariables().isEmpty()) {
             throw new IllegalArgumentException("Cannot solve a problem without variables.");
         }
         this.problem = problem;
-        this.solutions = new LinkedList<>();
+        this.configuration = configuration;
     }
 
     @Override
-    public List<Solution<S>> solve() {
-        try {
-            initialPart(problem, problem.getVariables());
-        } catch (UnsatisfiableException e) {
-            // fine, return empty list
-        }
-        return solutions;
-    }
-
-    private void initialPart(final Problem<S> problem, Variables<S> variables)
-        throws UnsatisfiableException {
-        for (SimConstraint<S> constraint : problem.getSimConstraints()) {
-            useSimConstraint(variables, constraint);
-        }
-        reasoningPart(problem, variables.deepClone());
+    public Iterator<Solution<S>> iterator() {
+        final Search<S> search = new Search<>(problem, configuration);
+        lastSearch = search;
+        return search;
     }
 
-    private void reasoningPart(final Problem<S> problem, Variables<S> variables)
-            throws UnsatisfiableException {
-        while (true) {
-            final long before = variables.countSolvedVariables();
-            for (BiConstraint<S> constraint : problem.getBiConstraints()) {
-                useBiConstraint(variables, constraint);
-            }
-            final long after = variables.countSolvedVariables();
-            // no changes from constraints: solved, or need to guess
-            if (before == after) {
-                if (variables.isSolved(after)) {
-                    this.solutions.add(variables.extractSolution());
-                } else {
-                    guessPart(problem, variables.deepClone());
-                }
-                return;
-            }
-        }
+    @Override
+    public long countSolutions(final long limit) {
+        final Search<S> search = new Search<>(problem, configuration);
+        search.setLimits(new SearchLimits(configuration, limit));
+        lastSearch = search;
+        return search.count();
     }
 
-    private void guessPart(final Problem<S> problem, Variables<S> variables) {
-        Variable<S> unsolvedVariable = variables.chooseUnsolvedVariable();
-        for (var possibility : unsolvedVariable.getPossibilities()) {
-            unsolvedVariable.guessValue(possibility);
-            try {
-                reasoningPart(problem, variables.deepClone());
-            } catch (UnsatisfiableException e) {
-                // fine, next
-            }
+    @Override
+    public Optional<Solution<S>> optimize(final Consumer<Solution<S>> improvements) {
+        final Search<S> search = new Search<>(problem, configuration);
+        final ObjectiveBound<S> bound = new ObjectiveBound<>(improvements);
+        search.setObjectiveBound(bound);
+        lastSearch = search;
+        // every solution of the search is better than the one before
+        while (search.hasNext()) {
+            search.next();
         }
+        return bound.getBest();
     }
 
-    private void useSimConstraint(final Variables<S> variables, final SimConstraint<S> constraint)
-            throws UnsatisfiableException {
-        final Variable<S> variable = variables.get(constraint.getSymbol());
-        removeNonMatching(variable, constraint::match);
-    }
-
-    private void useBiConstraint(final Variables<S> variables, final BiConstraint<S> constraint)
-            throws UnsatisfiableException {
-        final Variable<S> a = variables.get(constraint.getA());
-        final Variable<S> b = variables.get(constraint.getB());
-        if (a.value().isPresent()) {
-            removeNonMatching(b, x -> constraint.match(a.value().get(), x));
-        }
-        if (b.value().isPresent()) {
-            removeNonMatching(a, x -> constraint.match(x, b.value().get()));
-        }
+    @Override
+    public SolverStatistics getStatistics() {
+        final Search<S> search = lastSearch;
+        return search == null ? SolverStatistics.NONE : search.getStatistics().snapshot();
     }
 
-    private void removeNonMatching(final Variable<S> variable, final Function<Integer, Boolean> fun)
-            throws UnsatisfiableException {
-        // If already solved, then only check (faster detection of wrong guesses)
-        if (variable.value().isPresent()) {
-            if (!fun.apply(variable.value().get())) {
-                throw new UnsatisfiableException("not matching assignment");
-            }
-            return;
-        }
-        // remove everything which doesn't match
-        List<Integer> removals = new LinkedList<>();
-        for (Integer value : variable.getPossibilities()) {
-            if (!fun.apply(value)) {
-                removals.add(value);
-            }
-        }
-        // No more possibilities? Then a guess was wrong.
-        if (variable.getPossibilities().size() == removals.size()) {
-            throw new UnsatisfiableException("all possibilities removed");
-        }
-        variable.removePossibilities(removals);
+    @Override
+    public Termination getTermination() {
+        final Search<S> search = lastSearch;
+        return search == null ? Termination.PENDING : search.getTermination();
     }
 }
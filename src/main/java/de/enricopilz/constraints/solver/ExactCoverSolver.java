@@ -0,0 +1,169 @@
+package de.enricopilz.constraints.solver;
+
+import de.enricopilz.constraints.api.ExactCoverProblem;
+import de.enricopilz.constraints.api.SolverConfiguration;
+import de.enricopilz.constraints.api.SolverStatistics;
+import de.enricopilz.constraints.api.Termination;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Solves exact cover problems with dancing links.
+ * The limits and statistics of the {@link SolverConfiguration} apply, the other options are ignored.
+ * <p>
+ * R : Type of the row labels
+ */
+public class ExactCoverSolver<R> {
+
+    private final ExactCoverProblem<R> problem;
+
+    private final SolverConfiguration configuration;
+
+    private volatile Enumeration lastSearch;
+
+    public ExactCoverSolver(final ExactCoverProblem<R> problem) {
+        this(problem, SolverConfiguration.defaults());
+    }
+
+    public ExactCoverSolver(final ExactCoverProblem<R> problem, final SolverConfiguration configuration) {
+        this.problem = problem;
+        this.configuration = configuration;
+    }
+
+    public ExactCoverProblem<R> getProblem() {
+        return problem;
+    }
+
+    /** each call starts a new search, a solution is the list of chosen rows */
+    public Iterator<List<R>> iterator() {
+        final Enumeration search = new Enumeration();
+        lastSearch = search;
+        return search;
+    }
+
+    public Stream<List<R>> stream() {
+        return StreamSupport.stream(
+                Spliterators.spliteratorUnknownSize(iterator(), Spliterator.ORDERED | Spliterator.NONNULL), false);
+    }
+
+    /** number of solutions, without creating them */
+    public long countSolutions() {
+        return countSolutions(Long.MAX_VALUE);
+    }
+
+    /** number of solutions, but at most the limit, e.g. 2 tells whether the solution is unique */
+    public long countSolutions(final long limit) {
+        final Enumeration search = new Enumeration(limit);
+        lastSearch = search;
+        long count = 0;
+        while (search.links.next()) {
+            count++;
+        }
+        search.exhausted = true;
+        return count;
+    }
+
+    public SolverStatistics getStatistics() {
+        final Enumeration search = lastSearch;
+        return search == null ? SolverStatistics.NONE : search.statistics.snapshot();
+    }
+
+    public Termination getTermination() {
+        final Enumeration search = lastSearch;
+        return search == null ? Termination.PENDING : search.limits.getTermination(search.exhausted);
+    }
+
+    /** label indices of the rows of each solution */
+    Iterator<int[]> rowIterator() {
+        final Enumeration search = new Enumeration();
+        lastSearch = search;
+        return search.rows();
+    }
+
+    private class Enumeration implements Iterator<List<R>> {
+
+        private final SearchLimits limits;
+
+        private final StatisticsCollector statistics = new StatisticsCollector(configuration.isCollectStatistics(), 0);
+
+        private final DancingLinks links;
+
+        private int[] nextSolution;
+
+        private boolean exhausted;
+
+        Enumeration() {
+            this(Long.MAX_VALUE);
+        }
+
+        Enumeration(final long maxSolutions) {
+            this.limits = new SearchLimits(configuration, maxSolutions);
+            final long start = statistics.start();
+            final int[][] columnsOfRows = new int[problem.getRows().size()][];
+            for (int row = 0; row < columnsOfRows.length; row++) {
+                columnsOfRows[row] = problem.getColumnsOfRow(row);
+            }
+            this.links = new DancingLinks(problem.getPrimaryColumns(), problem.getSecondaryColumns(), columnsOfRows,
+                    limits, statistics);
+            statistics.initial(start);
+        }
+
+        private boolean advance() {
+            if (nextSolution == null && !exhausted) {
+                final long start = statistics.start();
+                if (links.next()) {
+                    nextSolution = links.solution();
+                } else {
+                    exhausted = true;
+                }
+                statistics.searching(start);
+            }
+            return nextSolution != null;
+        }
+
+        private int[] take() {
+            if (!advance()) {
+                throw new NoSuchElementException();
+            }
+            final int[] solution = nextSolution;
+            nextSolution = null;
+            return solution;
+        }
+
+        Iterator<int[]> rows() {
+            return new Iterator<>() {
+                @Override
+                public boolean hasNext() {
+                    return advance();
+                }
+
+                @Override
+                public int[] next() {
+                    return take();
+                }
+            };
+        }
+
+        @Override
+        public boolean hasNext() {
+            return advance();
+        }
+
+        @Override
+        public List<R> next() {
+            final int[] rows = take();
+            final List<R> labels = new ArrayList<>(rows.length);
+            for (int row : rows) {
+                labels.add(problem.getRows().get(row));
+            }
+            return labels;
+        }
+    }
+}
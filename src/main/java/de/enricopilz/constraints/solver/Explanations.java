@@ -0,0 +1,62 @@
+package de.enricopilz.constraints.solver;
+
+import java.util.BitSet;
+
+/**
+ * Decision levels, which caused the current domain of each variable (conflict directed backjumping).
+ * A propagator, which prunes a variable, blames the decisions of all other variables of its scope.
+ * This is coarser than a real explanation, but works for every propagator.
+ */
+class Explanations {
+
+    private final BitSet[] reasons;
+
+    // levels of the last failure, null if unknown
+    private BitSet conflict;
+
+    Explanations(final int numberOfVariables) {
+        this.reasons = new BitSet[numberOfVariables];
+        for (int index = 0; index < numberOfVariables; index++) {
+            reasons[index] = new BitSet();
+        }
+    }
+
+    BitSet get(final int index) {
+        return reasons[index];
+    }
+
+    /** used by the trail to restore the reasons of an older domain */
+    void restore(final int index, final BitSet reason) {
+        reasons[index] = reason;
+    }
+
+    void decided(final int index, final int level) {
+        reasons[index].clear();
+        reasons[index].set(level);
+    }
+
+    void pruned(final int index, final int[] scope) {
+        for (int other : scope) {
+            if (other != index) {
+                reasons[index].or(reasons[other]);
+            }
+        }
+    }
+
+    void failed(final int[] scope) {
+        conflict = new BitSet();
+        for (int index : scope) {
+            conflict.or(reasons[index]);
+        }
+    }
+
+    /** failure outside of a propagator */
+    void failedWithoutReason() {
+        conflict = null;
+    }
+
+    /** @return null, if every decision may be responsible */
+    BitSet getConflict() {
+        return conflict;
+    }
+}
@@ -0,0 +1,83 @@
+package de.enricopilz.constraints.solver;
+
+import de.enricopilz.constraints.api.SolverConfiguration.VariableSelection;
+import de.enricopilz.constraints.description.Variable;
+import de.enricopilz.constraints.description.Variables;
+
+import java.util.Random;
+
+/**
+ * Keeps all variables in a heap by domain size (divided by degree or weighted degree).
+ * Each domain change costs O(log n), choosing the next variable O(1).
+ */
+class HeapVariableSelector<S> extends VariableSelector<S> {
+
+    private final VariableSelection selection;
+
+    private final IndexedMinHeap heap;
+
+    // number of constraints, with DOM_WDEG the sum of their weights
+    private final double[] degrees;
+
+    private Variables<S> variables;
+
+    HeapVariableSelector(final VariableSelection selection, final PropagationEngine<S> engine, final Variables<S> variables) {
+        this.selection = selection;
+        this.heap = new IndexedMinHeap(variables.size());
+        this.degrees = new double[variables.size()];
+        for (Propagator<S> propagator : engine.getPropagators()) {
+            for (int index : propagator.getScope()) {
+                degrees[index]++;
+            }
+        }
+        attach(variables);
+    }
+
+    @Override
+    void attach(final Variables<S> variables) {
+        this.variables = variables;
+        for (int index = 0; index < variables.size(); index++) {
+            heap.update(index, key(variables.get(index)));
+        }
+    }
+
+    private double key(final Variable<S> variable) {
+        if (variable.isSolved()) {
+            return Double.POSITIVE_INFINITY;
+        }
+        if (selection == VariableSelection.SMALLEST_DOMAIN) {
+            return variable.size();
+        }
+        return variable.size() / Math.max(degrees[variable.getIndex()], 1.0);
+    }
+
+    @Override
+    void restarted(final Random random) {
+        heap.shuffleTies(random);
+    }
+
+    @Override
+    public void changed(final Variable<S> variable) {
+        heap.update(variable.getIndex(), key(variable));
+    }
+
+    @Override
+    public void failed(final Propagator<S> propagator) {
+        if (selection != VariableSelection.DOM_WDEG) {
+            return;
+        }
+        for (int index : propagator.getScope()) {
+            degrees[index]++;
+            changed(variables.get(index));
+        }
+    }
+
+    @Override
+    Variable<S> select(final Variables<S> variables) {
+        final int index = heap.peek();
+        if (index < 0 || heap.key(index) == Double.POSITIVE_INFINITY) {
+            throw new IllegalArgumentException("Seems like everything is already solved.");
+        }
+        return variables.get(index);
+    }
+}
@@ -0,0 +1,105 @@
+package de.enricopilz.constraints.solver;
+
+import java.util.Random;
+
+/**
+ * Binary heap over the indices 0..n-1 with changeable keys. Equal keys are ordered by index, or by a random rank.
+ */
+class IndexedMinHeap {
+
+    private final double[] keys;
+
+    // heap of indices
+    private final int[] heap;
+
+    // position of an index within the heap
+    private final int[] positions;
+
+    // tie breaker for equal keys, the index itself unless shuffled
+    private final int[] ranks;
+
+    IndexedMinHeap(final int size) {
+        this.keys = new double[size];
+        this.heap = new int[size];
+        this.positions = new int[size];
+        this.ranks = new int[size];
+        for (int i = 0; i < size; i++) {
+            heap[i] = i;
+            positions[i] = i;
+            ranks[i] = i;
+        }
+    }
+
+    /** index with the smallest key, -1 if empty */
+    int peek() {
+        return heap.length == 0 ? -1 : heap[0];
+    }
+
+    double key(final int index) {
+        return keys[index];
+    }
+
+    void update(final int index, final double key) {
+        final double old = keys[index];
+        keys[index] = key;
+        if (key < old) {
+            siftUp(positions[index]);
+        } else if (key > old) {
+            siftDown(positions[index]);
+        }
+    }
+
+    /** equal keys are ordered randomly from now on */
+    void shuffleTies(final Random random) {
+        for (int i = ranks.length - 1; i > 0; i--) {
+            final int j = random.nextInt(i + 1);
+            final int tmp = ranks[i];
+            ranks[i] = ranks[j];
+            ranks[j] = tmp;
+        }
+        for (int pos = heap.length / 2 - 1; pos >= 0; pos--) {
+            siftDown(pos);
+        }
+    }
+
+    private boolean less(final int a, final int b) {
+        return keys[a] < keys[b] || (keys[a] == keys[b] && ranks[a] < ranks[b]);
+    }
+
+    private void siftUp(int pos) {
+        final int index = heap[pos];
+        while (pos > 0) {
+            final int parent = (pos - 1) >>> 1;
+            if (!less(index, heap[parent])) {
+                break;
+            }
+            place(heap[parent], pos);
+            pos = parent;
+        }
+        place(index, pos);
+    }
+
+    private void siftDown(int pos) {
+        final int index = heap[pos];
+        while (true) {
+            int child = 2 * pos + 1;
+            if (child >= heap.length) {
+                break;
+            }
+            if (child + 1 < heap.length && less(heap[child + 1], heap[child])) {
+                child++;
+            }
+            if (!less(heap[child], index)) {
+                break;
+            }
+            place(heap[child], pos);
+            pos = child;
+        }
+        place(index, pos);
+    }
+
+    private void place(final int index, final int pos) {
+        heap[pos] = index;
+        positions[index] = pos;
+    }
+}
@@ -0,0 +1,154 @@
+package de.enricopilz.constraints.solver;
+
+import de.enricopilz.constraints.UnsatisfiableException;
+import de.enricopilz.constraints.description.Variable;
+import de.enricopilz.constraints.description.constraint.LinearConstraint;
+import de.enricopilz.constraints.description.constraint.LinearConstraint.Relation;
+
+/**
+ * Bounds consistency for c1 * x1 + ... + cn * xn (=, <=, >=) value.
+ * The smallest and largest possible sum are updated in O(1) per changed variable and restored through the trail,
+ * so a run only has to tighten the bounds. With clones there is no trail, so the sums are computed on every run.
+ */
+class LinearPropagator<S> implements Propagator<S> {
+
+    private static final int SUM_MIN = 0;
+    private static final int SUM_MAX = 1;
+    // 1, if the terms and sums belong to the current domains
+    private static final int INITIALIZED = 2;
+
+    private final int[] scope;
+
+    private final int[] coefficients;
+
+    private final Relation relation;
+
+    // only lowered, for the objective of a branch and bound
+    private long value;
+
+    // smallest and largest value of each term c * x and their sums
+    private final ReversibleLongArray termMin;
+    private final ReversibleLongArray termMax;
+    private final ReversibleLongArray sums = new ReversibleLongArray(3);
+
+    LinearPropagator(final LinearConstraint<S> constraint, final int[] scope) {
+        this(constraint, scope, constraint.getValue());
+    }
+
+    /** with another value than the constraint, e.g. Long.MAX_VALUE for an objective without solution so far */
+    LinearPropagator(final LinearConstraint<S> constraint, final int[] scope, final long value) {
+        this.scope = scope;
+        this.coefficients = constraint.getCoefficients();
+        this.relation = constraint.getRelation();
+        this.value = value;
+        this.termMin = new ReversibleLongArray(scope.length);
+        this.termMax = new ReversibleLongArray(scope.length);
+    }
+
+    @Override
+    public int[] getScope() {
+        return scope;
+    }
+
+    @Override
+    public boolean watchesChanges() {
+        return true;
+    }
+
+    @Override
+    public void changed(final PropagationEngine<S> engine, final int position) {
+        if (sums.get(INITIALIZED) == 1L && engine.getTrailLevel() >= 0) {
+            update(engine, position);
+        }
+    }
+
+    @Override
+    public void propagate(final PropagationEngine<S> engine) throws UnsatisfiableException {
+        if (engine.getTrailLevel() < 0 || sums.get(INITIALIZED) == 0L) {
+            initialize(engine);
+        }
+        final long sumMin = sums.get(SUM_MIN);
+        final long sumMax = sums.get(SUM_MAX);
+        if (relation == Relation.LESS_OR_EQUAL && sumMax <= value || relation == Relation.GREATER_OR_EQUAL && sumMin >= value) {
+            // satisfied by all values, e.g. an objective without bound, where value - sum would overflow
+            return;
+        }
+        boolean changed = true;
+        while (changed) {
+            changed = false;
+            if (relation != Relation.GREATER_OR_EQUAL && sums.get(SUM_MIN) > value) {
+                throw Contradiction.INSTANCE;
+            }
+            if (relation != Relation.LESS_OR_EQUAL && sums.get(SUM_MAX) < value) {
+                throw Contradiction.INSTANCE;
+            }
+            for (int i = 0; i < scope.length; i++) {
+                // bounds of this term, so that the rest of the sum can still reach the value
+                final long upper = relation == Relation.GREATER_OR_EQUAL
+                        ? termMax.get(i) : value - (sums.get(SUM_MIN) - termMin.get(i));
+                final long lower = relation == Relation.LESS_OR_EQUAL
+                        ? termMin.get(i) : value - (sums.get(SUM_MAX) - termMax.get(i));
+                if (upper < termMax.get(i) || lower > termMin.get(i)) {
+                    final long c = coefficients[i];
+                    final long min = c > 0 ? ceilDiv(lower, c) : ceilDiv(upper, c);
+                    final long max = c > 0 ? Math.floorDiv(upper, c) : Math.floorDiv(lower, c);
+                    final Variable<S> variable = engine.get(scope[i]);
+                    if (engine.restrictBounds(variable, clamp(min), clamp(max))) {
+                        changed = true;
+                        // with trail the engine told already, with clones the changes are not watched
+                        update(engine, i);
+                    }
+                }
+            }
+        }
+    }
+
+    /** only sums up to the given value are allowed from now on */
+    void tighten(final long value) {
+        this.value = Math.min(this.value, value);
+    }
+
+    /** sum of the current minimal values, the value of the sum once all variables are assigned */
+    long evaluate(final PropagationEngine<S> engine) {
+        long sum = 0L;
+        for (int i = 0; i < scope.length; i++) {
+            sum += (long) coefficients[i] * engine.get(scope[i]).getDomain().min();
+        }
+        return sum;
+    }
+
+    private void initialize(final PropagationEngine<S> engine) {
+        long sumMin = 0L;
+        long sumMax = 0L;
+        for (int i = 0; i < scope.length; i++) {
+            final Variable<S> variable = engine.get(scope[i]);
+            final long c = coefficients[i];
+            termMin.set(engine, i, c > 0 ? c * variable.getDomain().min() : c * variable.getDomain().max());
+            termMax.set(engine, i, c > 0 ? c * variable.getDomain().max() : c * variable.getDomain().min());
+            sumMin += termMin.get(i);
+            sumMax += termMax.get(i);
+        }
+        sums.set(engine, SUM_MIN, sumMin);
+        sums.set(engine, SUM_MAX, sumMax);
+        sums.set(engine, INITIALIZED, 1L);
+    }
+
+    private void update(final PropagationEngine<S> engine, final int position) {
+        final Variable<S> variable = engine.get(scope[position]);
+        final long c = coefficients[position];
+        final long min = c > 0 ? c * variable.getDomain().min() : c * variable.getDomain().max();
+        final long max = c > 0 ? c * variable.getDomain().max() : c * variable.getDomain().min();
+        sums.set(engine, SUM_MIN, sums.get(SUM_MIN) + min - termMin.get(position));
+        sums.set(engine, SUM_MAX, sums.get(SUM_MAX) + max - termMax.get(position));
+        termMin.set(engine, position, min);
+        termMax.set(engine, position, max);
+    }
+
+    private static int clamp(final long value) {
+        return (int) Math.max(Integer.MIN_VALUE, Math.min(Integer.MAX_VALUE, value));
+    }
+
+    private static long ceilDiv(final long a, final long b) {
+        return -Math.floorDiv(-a, b);
+    }
+}
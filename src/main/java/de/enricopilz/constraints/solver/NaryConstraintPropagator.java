@@ -0,0 +1,158 @@
+package de.enricopilz.constraints.solver;
+
+import de.enricopilz.constraints.UnsatisfiableException;
+import de.enricopilz.constraints.description.CompiledProblem;
+import de.enricopilz.constraints.description.Variable;
+import de.enricopilz.constraints.description.constraint.NaryConstraint;
+import de.enricopilz.constraints.description.constraint.NaryConstraint.Propagation;
+
+import java.util.Arrays;
+
+/**
+ * Forward checking or generalized arc consistency for a constraint given by a predicate.
+ * GAC searches the combinations of the other domains for a support and keeps the last one found
+ * as residue for all values in it, so it is only searched again after one of its values was removed.
+ */
+class NaryConstraintPropagator<S> implements Propagator<S> {
+
+    private final NaryConstraint<S> constraint;
+
+    // variable indices, in the order of the symbols
+    private final int[] scope;
+
+    // values passed to the predicate
+    private final int[] tuple;
+
+    // only for GAC: initial values per position, in ascending order
+    private final int[][] values;
+
+    // only for GAC: last support found per position and index of the value in the initial values
+    private final int[][][] residues;
+
+    // only for GAC: current values and index into them per position, reused by every search for a support
+    private final int[][] domains;
+
+    private final int[] positions;
+
+    NaryConstraintPropagator(final NaryConstraint<S> constraint, final int[] scope, final CompiledProblem<S> problem) {
+        this.constraint = constraint;
+        this.scope = scope;
+        this.tuple = new int[scope.length];
+        if (constraint.getPropagation() == Propagation.GAC) {
+            this.values = new int[scope.length][];
+            this.residues = new int[scope.length][][];
+            for (int x = 0; x < scope.length; x++) {
+                values[x] = problem.getInitialValues(scope[x]);
+                residues[x] = new int[values[x].length][];
+            }
+            this.domains = new int[scope.length][];
+            this.positions = new int[scope.length];
+        } else {
+            this.values = null;
+            this.residues = null;
+            this.domains = null;
+            this.positions = null;
+        }
+    }
+
+    @Override
+    public int[] getScope() {
+        return scope;
+    }
+
+    @Override
+    public void propagate(final PropagationEngine<S> engine) throws UnsatisfiableException {
+        if (constraint.getPropagation() == Propagation.GAC) {
+            enforceArcConsistency(engine);
+        } else {
+            forwardCheck(engine);
+        }
+    }
+
+    private void forwardCheck(final PropagationEngine<S> engine) throws UnsatisfiableException {
+        int unassigned = -1;
+        for (int x = 0; x < scope.length; x++) {
+            final Variable<S> variable = engine.get(scope[x]);
+            if (variable.isSolved()) {
+                tuple[x] = variable.getDomain().min();
+            } else if (unassigned < 0) {
+                unassigned = x;
+            } else {
+                // two variables left, nothing to check yet
+                return;
+            }
+        }
+        if (unassigned < 0) {
+            if (!constraint.match(tuple)) {
+                throw Contradiction.INSTANCE;
+            }
+            return;
+        }
+        final int position = unassigned;
+        engine.removeIf(engine.get(scope[position]), value -> {
+            tuple[position] = value;
+            return !constraint.match(tuple);
+        });
+    }
+
+    private void enforceArcConsistency(final PropagationEngine<S> engine) throws UnsatisfiableException {
+        for (int x = 0; x < scope.length; x++) {
+            domains[x] = engine.get(scope[x]).getDomain().toArray();
+        }
+        // every removal can take away supports of the other variables
+        boolean changed = true;
+        while (changed) {
+            changed = false;
+            for (int x = 0; x < scope.length; x++) {
+                final int position = x;
+                final Variable<S> variable = engine.get(scope[x]);
+                if (engine.removeIf(variable, value -> !hasSupport(engine, position, value))) {
+                    domains[x] = variable.getDomain().toArray();
+                    changed = true;
+                }
+            }
+        }
+    }
+
+    private boolean hasSupport(final PropagationEngine<S> engine, final int x, final int value) {
+        final int[] residue = residues[x][Arrays.binarySearch(values[x], value)];
+        if (residue != null && isValid(engine, residue)) {
+            return true;
+        }
+        // odometer over the other domains
+        for (int y = 0; y < scope.length; y++) {
+            positions[y] = 0;
+            tuple[y] = y == x ? value : domains[y][0];
+        }
+        while (true) {
+            if (constraint.match(tuple)) {
+                final int[] support = tuple.clone();
+                for (int y = 0; y < scope.length; y++) {
+                    residues[y][Arrays.binarySearch(values[y], support[y])] = support;
+                }
+                return true;
+            }
+            int y = scope.length - 1;
+            while (y >= 0 && (y == x || positions[y] == domains[y].length - 1)) {
+                if (y != x) {
+                    positions[y] = 0;
+                    tuple[y] = domains[y][0];
+                }
+                y--;
+            }
+            if (y < 0) {
+                return false;
+            }
+            tuple[y] = domains[y][++positions[y]];
+        }
+    }
+
+    private boolean isValid(final PropagationEngine<S> engine, final int[] support) {
+        for (int y = 0; y < scope.length; y++) {
+            if (!engine.get(scope[y]).contains(support[y])) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,106 @@
+package de.enricopilz.constraints.solver;
+
+import de.enricopilz.constraints.description.Variable;
+import de.enricopilz.constraints.description.Variables;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Learned combinations of decisions, which can not be part of a solution.
+ * All literals are decisions of different levels, so the LBD of a nogood is its size.
+ * Long nogoods are not kept at all, if the store is full the longest and least used one is evicted.
+ */
+class Nogoods {
+
+    private static class Nogood {
+        private final int[] variables;
+        private final int[] values;
+        private int uses;
+
+        Nogood(final int[] variables, final int[] values) {
+            this.variables = variables;
+            this.values = values;
+        }
+    }
+
+    private final int capacity;
+
+    private final int maxSize;
+
+    private final List<Nogood> nogoods = new ArrayList<>();
+
+    // nogoods by the indices of their variables
+    private final List<List<Nogood>> byVariable = new ArrayList<>();
+
+    Nogoods(final int numberOfVariables, final int capacity, final int maxSize) {
+        this.capacity = capacity;
+        this.maxSize = maxSize;
+        for (int index = 0; index < numberOfVariables; index++) {
+            byVariable.add(new ArrayList<>());
+        }
+    }
+
+    void learn(final int[] variables, final int[] values) {
+        if (variables.length == 0 || variables.length > maxSize) {
+            return;
+        }
+        if (nogoods.size() == capacity) {
+            evict();
+        }
+        final Nogood nogood = new Nogood(variables, values);
+        nogoods.add(nogood);
+        for (int index : variables) {
+            byVariable.get(index).add(nogood);
+        }
+    }
+
+    void clear() {
+        nogoods.clear();
+        byVariable.forEach(List::clear);
+    }
+
+    private void evict() {
+        Nogood victim = nogoods.get(0);
+        for (Nogood nogood : nogoods) {
+            if (nogood.variables.length > victim.variables.length
+                    || nogood.variables.length == victim.variables.length && nogood.uses < victim.uses) {
+                victim = nogood;
+            }
+        }
+        nogoods.remove(victim);
+        for (int index : victim.variables) {
+            byVariable.get(index).remove(victim);
+        }
+    }
+
+    /**
+     * @return the other variables of a nogood, which forbids this value because all its other decisions hold,
+     * null if the value is allowed
+     */
+    int[] blocking(final int variable, final int value, final Variables<?> current) {
+        for (Nogood nogood : byVariable.get(variable)) {
+            if (holdsExcept(nogood, variable, value, current)) {
+                nogood.uses++;
+                return nogood.variables;
+            }
+        }
+        return null;
+    }
+
+    private static boolean holdsExcept(final Nogood nogood, final int variable, final int value, final Variables<?> current) {
+        for (int i = 0; i < nogood.variables.length; i++) {
+            if (nogood.variables[i] == variable) {
+                if (nogood.values[i] != value) {
+                    return false;
+                }
+                continue;
+            }
+            final Variable<?> other = current.get(nogood.variables[i]);
+            if (!other.isSolved() || other.getDomain().min() != nogood.values[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -52,35 +52,21 @@ public class NonogramSolver {
             return possibilities.stream().min(Integer::compareTo).orElseThrow();
         }
 
-        public void setMinValue(int newMinValue) {
-            List<Integer> removals = new LinkedList<>();
-            for (int p :possibilities) {
-                if (p < newMinValue) {
-                    removals.add(p);
-                }
-            }
-            possibilities.removeAll(removals);
-            if (possibilities.isEmpty()) {
-                throw new IllegalStateException("Oops removed all values");
-            }
+        /** @return false, if all values were removed */
+        public boolean setMinValue(int newMinValue) {
+            possibilities.removeIf(p -> p < newMinValue);
+            return !possibilities.isEmpty();
         }
 
-        public void setMaxValue(int newMaxValue) {
-            List<Integer> removals = new LinkedList<>();
-            for (int p :possibilities) {
-                if (p > newMaxValue) {
-                    removals.add(p);
-                }
-            }
-            possibilities.removeAll(removals);
-            if (possibilities.isEmpty()) {
-                throw new IllegalStateException("Oops removed all values");
-            }
+        /** @return false, if all values were removed */
+        public boolean setMaxValue(int newMaxValue) {
+            possibilities.removeIf(p -> p > newMaxValue);
+            return !possibilities.isEmpty();
         }
 
-        public void makeSure(int makeSureValue) {
-            setMaxValue(makeSureValue);
-            setMinValue(makeSureValue - length + 1);
+        /** @return false, if all values were removed */
+        public boolean makeSure(int makeSureValue) {
+            return setMaxValue(makeSureValue) && setMinValue(makeSureValue - length + 1);
         }
     }
 
@@ -114,40 +100,47 @@ public class NonogramSolver {
 //            bas[bas.length - 1].setMaximalOuterRight(size);
         }
 
-        public void solveLine() {
+        /** @return false, if the line can not be solved */
+        public boolean solveLine() {
             for (BlackArea ba : bas) {
-                adjustValues();
-                removeNonMatching(ba);
-                glueing();
+                if (!adjustValues() || !removeNonMatching(ba) || !glueing()) {
+                    return false;
+                }
             }
             setDefiniteBlack();
             setDefiniteWhite();
+            return true;
         }
 
         // schiebt rechts und links, damit die Werte zusammenpassen
-        private void adjustValues() {
+        private boolean adjustValues() {
             if (bas.length < 2) {
-                return;
+                return true;
             }
             // from left
             for (int b = 1; b < bas.length; b++) {
                 BlackArea current = bas[b];
                 BlackArea prev = bas[b-1];
                 int newMinValue = prev.minValue() + prev.getLength() + 1;
-                current.setMinValue(newMinValue);
+                if (!current.setMinValue(newMinValue)) {
+                    return false;
+                }
             }
             // from right
             for (int b = bas.length - 2; b >= 0; b--) {
                 BlackArea current = bas[b];
                 BlackArea next = bas[b+1];
                 int newMaxValue = next.maxValue() - current.getLength() - 1;
-                current.setMaxValue(newMaxValue);
+                if (!current.setMaxValue(newMaxValue)) {
+                    return false;
+                }
             }
+            return true;
         }
 
         // matcht vorhandene schwarze felder mit Black Areas
         //
-        private void glueing() {
+        private boolean glueing() {
             List<Set<BlackArea>> putter = new ArrayList<>();
             for (int i = 0; i < size; i++) {
                 putter.add(new HashSet<>());
@@ -166,24 +159,24 @@ public class NonogramSolver {
                 if (putter.get(i).size() == 1 && getResult(i) == BLACK) {
                     BlackArea ba = putter.get(i).iterator().next();
                     while (i < size && getResult(i) == BLACK) {
-                        ba.makeSure(i);
+                        if (!ba.makeSure(i)) {
+                            return false;
+                        }
                         i++;
                     }
                 } else {
                     i++;
                 }
             }
+            return true;
         }
 
         // guckt im Prinzip nur, welche Werte ausgeschlossen werden können,
         // weil in den Zielfeldern schon weiße Flächen sind
-        private void removeNonMatching(final BlackArea blackArea) {
+        private boolean removeNonMatching(final BlackArea blackArea) {
             // If already solved, then only check
             if (blackArea.value().isPresent()) {
-                if (!matchPossible(blackArea, blackArea.value().get())) {
-                    throw new IllegalStateException();
-                }
-                return;
+                return matchPossible(blackArea, blackArea.value().get());
             }
             // remove everything which doesn't match
             List<Integer> removals = new LinkedList<>();
@@ -194,9 +187,10 @@ public class NonogramSolver {
             }
             // No more possibilities? Then a guess was wrong.
             if (blackArea.getPossibilities().size() == removals.size()) {
-                return;
+                return true;
             }
             blackArea.removePossibilities(removals);
+            return true;
         }
 
         // Prüft, ob schwarze Area ba start eingebaut werden kann
@@ -313,7 +307,9 @@ public class NonogramSolver {
     public String solveGenericLine(String input, int[] numbers) {
         initializeGenericVariables(input, numbers);
         for (int i = 0; i < 2; i++) {
-            genericLine.solveLine();
+            if (!genericLine.solveLine()) {
+                throw new IllegalStateException("Line can not be solved");
+            }
         }
         return String.valueOf(testResult);
     }
@@ -364,10 +360,14 @@ public class NonogramSolver {
             // gleichzeitig Sichere schwarze setzen und Weiße
         for (int i = 0; i < 10; i++) {
             for (Line row : rows) {
-                row.solveLine();
+                if (!row.solveLine()) {
+                    throw new IllegalStateException("Row can not be solved");
+                }
             }
             for (Line col : cols) {
-                col.solveLine();
+                if (!col.solveLine()) {
+                    throw new IllegalStateException("Column can not be solved");
+                }
             }
         }
     }
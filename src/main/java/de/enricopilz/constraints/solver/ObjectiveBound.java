@@ -0,0 +1,40 @@
+package de.enricopilz.constraints.solver;
+
+import de.enricopilz.constraints.api.Solution;
+
+import java.util.Optional;
+import java.util.function.Consumer;
+
+/** best value of the (minimized) objective so far, shared by all searches of a branch and bound */
+class ObjectiveBound<S> {
+
+    private final Consumer<Solution<S>> improvements;
+
+    private volatile long best = Long.MAX_VALUE;
+
+    private Solution<S> bestSolution;
+
+    ObjectiveBound(final Consumer<Solution<S>> improvements) {
+        this.improvements = improvements;
+    }
+
+    /** false, if another search found an equal or better solution meanwhile */
+    synchronized boolean improve(final long value, final Solution<S> solution) {
+        if (value >= best) {
+            return false;
+        }
+        best = value;
+        bestSolution = solution;
+        improvements.accept(solution);
+        return true;
+    }
+
+    /** only solutions with a smaller value are searched */
+    long get() {
+        return best;
+    }
+
+    synchronized Optional<Solution<S>> getBest() {
+        return Optional.ofNullable(bestSolution);
+    }
+}
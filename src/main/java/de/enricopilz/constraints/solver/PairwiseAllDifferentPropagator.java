@@ -0,0 +1,54 @@
+package de.enricopilz.constraints.solver;
+
+import de.enricopilz.constraints.UnsatisfiableException;
+import de.enricopilz.constraints.description.Variable;
+
+/**
+ * All different for domains too large for the value graph of {@link AllDifferentPropagator}, e.g. large intervals:
+ * the value of each assigned variable is removed from the others, without looking at the other values.
+ */
+class PairwiseAllDifferentPropagator<S> implements Propagator<S> {
+
+    // variable indices
+    private final int[] scope;
+
+    PairwiseAllDifferentPropagator(final int[] scope) {
+        this.scope = scope;
+    }
+
+    @Override
+    public int[] getScope() {
+        return scope;
+    }
+
+    @Override
+    public void propagate(final PropagationEngine<S> engine) throws UnsatisfiableException {
+        boolean changed = true;
+        // a removed value can assign another variable
+        while (changed) {
+            changed = false;
+            for (int index : scope) {
+                final Variable<S> variable = engine.get(index);
+                if (variable.isSolved()) {
+                    final int value = variable.getDomain().min();
+                    for (int other : scope) {
+                        if (other != index && engine.removeValue(engine.get(other), value)) {
+                            changed = true;
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    @Override
+    public int countConflicts(final PropagationEngine<S> engine, final Variable<S> variable, final int value) {
+        int conflicts = 0;
+        for (int index : scope) {
+            if (index != variable.getIndex() && engine.get(index).contains(value)) {
+                conflicts++;
+            }
+        }
+        return conflicts;
+    }
+}
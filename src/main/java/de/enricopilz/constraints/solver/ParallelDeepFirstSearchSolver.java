@@ -0,0 +1,409 @@
+package de.enricopilz.constraints.solver;
+
+import de.enricopilz.constraints.UnsatisfiableException;
+import de.enricopilz.constraints.api.Problem;
+import de.enricopilz.constraints.api.Solution;
+import de.enricopilz.constraints.api.Solver;
+import de.enricopilz.constraints.api.SolverConfiguration;
+import de.enricopilz.constraints.api.SolverStatistics;
+import de.enricopilz.constraints.api.Termination;
+import de.enricopilz.constraints.description.Variable;
+import de.enricopilz.constraints.description.Variables;
+
+import java.lang.ref.Cleaner;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+
+/**
+ * The values of the upper choice points are searched as fork join tasks (work stealing),
+ * below the sequential cutoff each task runs a sequential search.
+ * The order of the solutions is not deterministic. The workers hand the solutions to the iterator through a small
+ * queue, so they wait for the consumer, and a search, whose iterator is not used anymore, is cancelled.
+ * An exception of a worker, e.g. of a constraint, cancels the search and is thrown to the caller.
+ * <p>
+ * S : Type of symbols
+ */
+public class ParallelDeepFirstSearchSolver<S> implements Solver<S> {
+
+    // cancels the search of an iterator, which is not reachable anymore
+    private static final Cleaner CLEANER = Cleaner.create();
+
+    // how long workers and consumer wait before checking for cancellation or the end of the search
+    private static final long POLL_MILLIS = 10;
+
+    private final Problem<S> problem;
+
+    private final SolverConfiguration configuration;
+
+    private volatile ParallelSearch lastSearch;
+
+    public ParallelDeepFirstSearchSolver(final Problem<S> problem) {
+        this(problem, SolverConfiguration.defaults());
+    }
+
+    public ParallelDeepFirstSearchSolver(final Problem<S> problem, final SolverConfiguration configuration) {
+        if (problem.getVariables().isEmpty()) {
+            throw new IllegalArgumentException("Cannot solve a problem without variables.");
+        }
+        this.problem = problem;
+        this.configuration = configuration;
+    }
+
+    /** the search runs in the background, but only until a few solutions are waiting for the consumer */
+    @Override
+    public Iterator<Solution<S>> iterator() {
+        final ParallelSearch search = new ParallelSearch(null, true, Long.MAX_VALUE);
+        final Iterator<Solution<S>> solutions = search.new Solutions();
+        CLEANER.register(solutions, search::cancel);
+        final ForkJoinPool pool = new ForkJoinPool(configuration.getParallelism());
+        lastSearch = search;
+        pool.execute(search.new Root());
+        // the submitted search still runs to its end
+        pool.shutdown();
+        return solutions;
+    }
+
+    /** the workers only count the solutions in their branches */
+    @Override
+    public long countSolutions(final long limit) {
+        final ParallelSearch search = new ParallelSearch(null, false, limit);
+        run(search);
+        return search.count.get();
+    }
+
+    /** all workers share the bound, so a better solution of one worker prunes the branches of all others */
+    @Override
+    public Optional<Solution<S>> optimize(final Consumer<Solution<S>> improvements) {
+        if (problem.getCompiled().getObjectiveConstraint() < 0) {
+            throw new IllegalStateException("The problem has no objective.");
+        }
+        final ObjectiveBound<S> bound = new ObjectiveBound<>(improvements);
+        run(new ParallelSearch(bound, false, Long.MAX_VALUE));
+        return bound.getBest();
+    }
+
+    /** the whole search, before the result is returned */
+    private void run(final ParallelSearch search) {
+        final ForkJoinPool pool = new ForkJoinPool(configuration.getParallelism());
+        lastSearch = search;
+        try {
+            pool.invoke(search.new Root());
+        } finally {
+            pool.shutdown();
+        }
+        search.rethrowFailure();
+    }
+
+    /** statistics of the last search, as far as it got */
+    @Override
+    public SolverStatistics getStatistics() {
+        final ParallelSearch search = lastSearch;
+        return search == null ? SolverStatistics.NONE : search.statistics();
+    }
+
+    @Override
+    public Termination getTermination() {
+        final ParallelSearch search = lastSearch;
+        return search == null ? Termination.PENDING : search.limits.getTermination(search.finished);
+    }
+
+    private class ParallelSearch {
+
+        // only solutions found before the consumer asks for them
+        private final BlockingQueue<Solution<S>> solutions = new ArrayBlockingQueue<>(configuration.getParallelism());
+
+        // false, if the solutions are only counted
+        private final boolean collecting;
+
+        private final AtomicLong count = new AtomicLong();
+
+        // set after all workers are done
+        private volatile boolean finished;
+
+        // the consumer does not want any more solutions
+        private volatile boolean cancelled;
+
+        // first exception of a worker, it cancels the search
+        private final AtomicReference<Throwable> failure = new AtomicReference<>();
+
+        // null, unless optimizing
+        private final ObjectiveBound<S> bound;
+
+        // shared by all workers, the first exceeded limit cancels all branches
+        private final SearchLimits limits;
+
+        // statistics of all workers and sequential searches
+        private final Queue<StatisticsCollector> collectors = new ConcurrentLinkedQueue<>();
+
+        private final ThreadLocal<StatisticsCollector> workerStatistics = ThreadLocal.withInitial(() -> {
+            final StatisticsCollector collector = new StatisticsCollector(configuration.isCollectStatistics(), 0);
+            collectors.add(collector);
+            return collector;
+        });
+
+        // propagators keep state, so each worker needs its own engine
+        private final ThreadLocal<PropagationEngine<S>> engines = ThreadLocal.withInitial(() -> {
+            final PropagationEngine<S> engine = new PropagationEngine<>(problem.getCompiled());
+            engine.setStatistics(workerStatistics.get());
+            return engine;
+        });
+
+        // the weights of DOM_WDEG are learned by each worker over all its branches and sequential searches
+        private final ThreadLocal<VariableSelector<S>> selectors = ThreadLocal.withInitial(() -> {
+            final PropagationEngine<S> engine = engines.get();
+            final VariableSelector<S> selector = VariableSelector.create(configuration.getVariableSelection(), engine,
+                    problem.getCompiled().newVariables());
+            engine.setListener(selector);
+            return selector;
+        });
+
+        ParallelSearch(final ObjectiveBound<S> bound, final boolean collecting, final long maxSolutions) {
+            this.bound = bound;
+            this.collecting = collecting;
+            this.limits = new SearchLimits(configuration, maxSolutions);
+        }
+
+        void cancel() {
+            cancelled = true;
+            limits.cancel();
+        }
+
+        private void fail(final Throwable throwable) {
+            if (failure.compareAndSet(null, throwable)) {
+                cancel();
+            }
+        }
+
+        /** throws the exception of a worker in the thread of the caller */
+        private void rethrowFailure() {
+            final Throwable throwable = failure.get();
+            if (throwable instanceof RuntimeException) {
+                throw (RuntimeException) throwable;
+            }
+            if (throwable instanceof Error) {
+                throw (Error) throwable;
+            }
+            if (throwable != null) {
+                throw new IllegalStateException("The search failed.", throwable);
+            }
+        }
+
+        /** waits until the consumer took enough of the earlier solutions */
+        private void deliver(final Solution<S> solution) {
+            try {
+                while (!cancelled && !solutions.offer(solution, POLL_MILLIS, TimeUnit.MILLISECONDS)) {
+                    // checks again, whether the iterator was abandoned
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                cancel();
+            }
+        }
+
+        private SolverStatistics statistics() {
+            final StatisticsCollector total = new StatisticsCollector(configuration.isCollectStatistics(), 0);
+            collectors.forEach(total::add);
+            return total.snapshot();
+        }
+
+        private Variables<S> initialPart() {
+            if (!problem.getCompiled().isConsistent()) {
+                return null;
+            }
+            final StatisticsCollector statistics = workerStatistics.get();
+            final long start = statistics.start();
+            final Variables<S> variables = problem.getCompiled().newVariables();
+            final PropagationEngine<S> engine = engines.get();
+            engine.attach(variables, null);
+            try {
+                engine.scheduleAll();
+                engine.propagate();
+                return variables;
+            } catch (UnsatisfiableException e) {
+                return null;
+            } finally {
+                statistics.initial(start);
+            }
+        }
+
+        /** initial propagation and all branches, the search is finished afterwards */
+        private class Root extends RecursiveAction {
+
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected void compute() {
+                try {
+                    final Variables<S> root = initialPart();
+                    if (root != null) {
+                        new Branch(root, 0).invoke();
+                    }
+                } catch (RuntimeException | Error e) {
+                    fail(e);
+                } finally {
+                    finished = true;
+                }
+            }
+        }
+
+        /** propagated variables without contradiction */
+        private class Branch extends RecursiveAction {
+
+            private static final long serialVersionUID = 1L;
+
+            private final Variables<S> variables;
+
+            private final int depth;
+
+            Branch(final Variables<S> variables, final int depth) {
+                this.variables = variables;
+                this.depth = depth;
+            }
+
+            @Override
+            protected void compute() {
+                // caught here, the fork join pool would only rethrow a copy in the parent task
+                try {
+                    branch();
+                } catch (RuntimeException | Error e) {
+                    fail(e);
+                }
+            }
+
+            private void branch() {
+                if (limits.isStopped()) {
+                    return;
+                }
+                if (variables.isSolved(variables.countSolvedVariables())) {
+                    if (bound != null) {
+                        final PropagationEngine<S> engine = engines.get();
+                        engine.attach(variables, null);
+                        final int objective = problem.getCompiled().getObjectiveConstraint();
+                        final long value = ((LinearPropagator<S>) engine.getPropagators()[objective]).evaluate(engine);
+                        if (!bound.improve(value, variables.extractSolution())) {
+                            return;
+                        }
+                    }
+                    // false, if other branches were faster
+                    if (limits.solution()) {
+                        count.incrementAndGet();
+                        if (collecting) {
+                            deliver(variables.extractSolution());
+                        }
+                    }
+                    return;
+                }
+                if (depth >= configuration.getSequentialCutoff()) {
+                    searchSequentially();
+                    return;
+                }
+                if (!limits.node()) {
+                    return;
+                }
+                // prepare all branches first, the engine is used by other tasks of this worker afterwards
+                final StatisticsCollector statistics = workerStatistics.get();
+                final long searching = statistics.start();
+                statistics.node(depth + 1);
+                final PropagationEngine<S> engine = engines.get();
+                engine.attach(variables, null);
+                final VariableSelector<S> selector = selectors.get();
+                selector.attach(variables);
+                final ValueSelector<S> valueSelector = ValueSelector.create(configuration, engine, variables.size());
+                final Variable<S> unsolvedVariable = selector.select(variables);
+                final List<Branch> branches = new ArrayList<>();
+                for (int possibility : valueSelector.order(unsolvedVariable)) {
+                    final Variables<S> guessed = variables.deepClone();
+                    statistics.guess();
+                    statistics.cloned();
+                    engine.attach(guessed, null);
+                    final long reasoning = statistics.start();
+                    try {
+                        engine.assign(guessed.get(unsolvedVariable.getIndex()), possibility);
+                        if (bound != null) {
+                            final int objective = problem.getCompiled().getObjectiveConstraint();
+                            ((LinearPropagator<S>) engine.getPropagators()[objective]).tighten(bound.get() - 1);
+                            engine.schedule(objective);
+                        }
+                        engine.propagate();
+                        branches.add(new Branch(guessed, depth + 1));
+                    } catch (UnsatisfiableException e) {
+                        // fine, next
+                        limits.failure();
+                    } finally {
+                        statistics.reasoning(reasoning);
+                    }
+                }
+                statistics.searching(searching);
+                invokeAll(branches);
+            }
+
+            private void searchSequentially() {
+                final Search<S> search = new Search<>(problem, configuration, variables, depth, selectors.get());
+                search.setLimits(limits);
+                if (bound != null) {
+                    search.setObjectiveBound(bound);
+                }
+                collectors.add(search.getStatistics());
+                // the search counts its solutions in the shared limits
+                if (!collecting) {
+                    count.addAndGet(search.count());
+                    return;
+                }
+                while (search.hasNext()) {
+                    count.incrementAndGet();
+                    deliver(search.next());
+                }
+            }
+        }
+
+        /** takes the solutions from the workers, one at a time */
+        private class Solutions implements Iterator<Solution<S>> {
+
+            private Solution<S> next;
+
+            @Override
+            public boolean hasNext() {
+                try {
+                    while (next == null) {
+                        // read before polling, all solutions are delivered before the search is finished
+                        final boolean done = finished;
+                        // set before the search is finished
+                        rethrowFailure();
+                        next = solutions.poll(POLL_MILLIS, TimeUnit.MILLISECONDS);
+                        if (next == null && done) {
+                            return false;
+                        }
+                    }
+                    return true;
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    cancel();
+                    return false;
+                }
+            }
+
+            @Override
+            public Solution<S> next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                final Solution<S> solution = next;
+                next = null;
+                return solution;
+            }
+        }
+    }
+}
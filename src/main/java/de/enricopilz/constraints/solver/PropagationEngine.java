@@ -0,0 +1,286 @@
+package de.enricopilz.constraints.solver;
+
+import de.enricopilz.constraints.UnsatisfiableException;
+import de.enricopilz.constraints.description.CompiledProblem;
+import de.enricopilz.constraints.description.Variable;
+import de.enricopilz.constraints.description.Variables;
+import de.enricopilz.constraints.description.constraint.AllDifferentConstraint;
+import de.enricopilz.constraints.description.constraint.BiConstraint;
+import de.enricopilz.constraints.description.constraint.Constraint;
+import de.enricopilz.constraints.description.constraint.LinearConstraint;
+import de.enricopilz.constraints.description.constraint.NaryConstraint;
+import de.enricopilz.constraints.description.constraint.TableConstraint;
+
+import java.util.List;
+import java.util.function.IntPredicate;
+
+/**
+ * Worklist of propagators (AC-3 style). Only propagators watching a changed variable are scheduled again.
+ */
+class PropagationEngine<S> {
+
+    private final CompiledProblem<S> problem;
+
+    // same numbering as the constraints of the compiled problem
+    private final Propagator<S>[] propagators;
+
+    // ring buffer, each propagator is queued at most once
+    private final int[] queue;
+    private int head;
+    private int size;
+
+    private final boolean[] queued;
+
+    // per variable: propagators told about each change and the position of the variable in their scope
+    private final int[][] watchers;
+    private final int[][] watcherPositions;
+
+    private Variables<S> variables;
+
+    // null, if backtracking is done with clones
+    private Trail<S> trail;
+
+    private int current = -1;
+
+    private SearchListener<S> listener = new SearchListener<>() {};
+
+    private StatisticsCollector statistics = new StatisticsCollector(false, 0);
+
+    // null, if the reasons of prunings are not tracked
+    private Explanations explanations;
+
+    @SuppressWarnings("unchecked")
+    PropagationEngine(final CompiledProblem<S> problem) {
+        this.problem = problem;
+        final List<Constraint<S>> constraints = problem.getConstraints();
+        this.propagators = (Propagator<S>[]) new Propagator<?>[constraints.size()];
+        for (int c = 0; c < propagators.length; c++) {
+            propagators[c] = c == problem.getObjectiveConstraint()
+                    ? new LinearPropagator<>((LinearConstraint<S>) constraints.get(c), problem.getScope(c), Long.MAX_VALUE)
+                    : createPropagator(problem, constraints.get(c), problem.getScope(c));
+        }
+        this.queue = new int[propagators.length];
+        this.queued = new boolean[propagators.length];
+        final int[] counts = new int[problem.size()];
+        for (Propagator<S> propagator : propagators) {
+            if (propagator.watchesChanges()) {
+                for (int index : propagator.getScope()) {
+                    counts[index]++;
+                }
+            }
+        }
+        this.watchers = new int[counts.length][];
+        this.watcherPositions = new int[counts.length][];
+        for (int index = 0; index < counts.length; index++) {
+            watchers[index] = new int[counts[index]];
+            watcherPositions[index] = new int[counts[index]];
+            counts[index] = 0;
+        }
+        for (int id = 0; id < propagators.length; id++) {
+            if (propagators[id].watchesChanges()) {
+                final int[] scope = propagators[id].getScope();
+                for (int position = 0; position < scope.length; position++) {
+                    final int index = scope[position];
+                    watchers[index][counts[index]] = id;
+                    watcherPositions[index][counts[index]++] = position;
+                }
+            }
+        }
+    }
+
+    private static <S> Propagator<S> createPropagator(final CompiledProblem<S> problem, final Constraint<S> constraint,
+                                                      final int[] scope) {
+        if (constraint instanceof BiConstraint) {
+            return new BiConstraintPropagator<>((BiConstraint<S>) constraint, scope);
+        }
+        if (constraint instanceof AllDifferentConstraint) {
+            long capacity = 0;
+            for (int index : scope) {
+                capacity += problem.getDomainSize(index);
+            }
+            // the value graph of large domains would not fit into memory
+            return capacity <= AllDifferentPropagator.MAX_VALUE_GRAPH_SIZE
+                    ? new AllDifferentPropagator<>(scope, (int) capacity) : new PairwiseAllDifferentPropagator<>(scope);
+        }
+        if (constraint instanceof TableConstraint) {
+            return new TablePropagator<>((TableConstraint<S>) constraint, scope);
+        }
+        if (constraint instanceof NaryConstraint) {
+            return new NaryConstraintPropagator<>((NaryConstraint<S>) constraint, scope, problem);
+        }
+        if (constraint instanceof LinearConstraint) {
+            return new LinearPropagator<>((LinearConstraint<S>) constraint, scope);
+        }
+        throw new IllegalArgumentException("Unknown constraint: " + constraint);
+    }
+
+    Propagator<S>[] getPropagators() {
+        return propagators;
+    }
+
+    void setListener(final SearchListener<S> listener) {
+        this.listener = listener;
+    }
+
+    void setStatistics(final StatisticsCollector statistics) {
+        this.statistics = statistics;
+    }
+
+    void setExplanations(final Explanations explanations) {
+        this.explanations = explanations;
+    }
+
+    /** work on these variables from now on */
+    void attach(final Variables<S> variables, final Trail<S> trail) {
+        this.variables = variables;
+        this.trail = trail;
+    }
+
+    Variable<S> get(final int index) {
+        return variables.get(index);
+    }
+
+    /** choice points on the trail, -1 for backtracking with clones, where propagators can not keep any state */
+    int getTrailLevel() {
+        return trail == null ? -1 : trail.getLevel();
+    }
+
+    /** the state is restored, when the search goes back before the current choice point */
+    void save(final Reversible reversible) {
+        trail.save(reversible);
+    }
+
+    void scheduleAll() {
+        for (int id = 0; id < propagators.length; id++) {
+            schedule(id);
+        }
+    }
+
+    void schedule(final int id) {
+        if (!queued[id]) {
+            queued[id] = true;
+            queue[(head + size++) % queue.length] = id;
+        }
+    }
+
+    private void changed(final Variable<S> variable) {
+        listener.changed(variable);
+        final int index = variable.getIndex();
+        for (int id : problem.getConstraintsOfVariable(index)) {
+            if (id != current) {
+                schedule(id);
+            }
+        }
+        final int[] ids = watchers[index];
+        for (int i = 0; i < ids.length; i++) {
+            propagators[ids[i]].changed(this, watcherPositions[index][i]);
+        }
+    }
+
+    /** sum of the conflicts estimated by all propagators of the variable */
+    int countConflicts(final Variable<S> variable, final int value) {
+        int conflicts = 0;
+        for (int id : problem.getConstraintsOfVariable(variable.getIndex())) {
+            conflicts += propagators[id].countConflicts(this, variable, value);
+        }
+        return conflicts;
+    }
+
+    /** @return true, if values were removed */
+    boolean removeIf(final Variable<S> variable, final IntPredicate predicate) throws UnsatisfiableException {
+        if (trail != null && trail.needsSave(variable)) {
+            // save only domains which really change
+            if (!variable.anyMatch(predicate)) {
+                return false;
+            }
+            trail.save(variable);
+        }
+        return removed(variable, variable.removeIf(predicate));
+    }
+
+    private boolean removed(final Variable<S> variable, final int removed) throws UnsatisfiableException {
+        if (removed == 0) {
+            return false;
+        }
+        statistics.pruned(removed);
+        if (explanations != null && current >= 0) {
+            explanations.pruned(variable.getIndex(), propagators[current].getScope());
+        }
+        // No more possibilities? Then a guess was wrong.
+        if (variable.size() == 0) {
+            throw Contradiction.INSTANCE;
+        }
+        changed(variable);
+        return true;
+    }
+
+    /** removes a single value without looking at the others, true if it was removed */
+    boolean removeValue(final Variable<S> variable, final int value) throws UnsatisfiableException {
+        if (!variable.contains(value)) {
+            return false;
+        }
+        if (trail != null) {
+            trail.save(variable);
+        }
+        variable.removeValue(value);
+        return removed(variable, 1);
+    }
+
+    /** removes the values outside of min..max without looking at the values in between, true if values were removed */
+    boolean restrictBounds(final Variable<S> variable, final int min, final int max) throws UnsatisfiableException {
+        if (variable.size() == 0 || (variable.getDomain().min() >= min && variable.getDomain().max() <= max)) {
+            return false;
+        }
+        if (trail != null) {
+            trail.save(variable);
+        }
+        return removed(variable, variable.restrictBounds(min, max));
+    }
+
+    void assign(final Variable<S> variable, final int value) throws UnsatisfiableException {
+        if (!variable.contains(value)) {
+            throw Contradiction.INSTANCE;
+        }
+        if (variable.isSolved()) {
+            return;
+        }
+        if (trail != null) {
+            trail.save(variable);
+        }
+        variable.guessValue(value);
+        changed(variable);
+    }
+
+    /** run scheduled propagators until nothing changes anymore */
+    void propagate() throws UnsatisfiableException {
+        try {
+            while (size > 0) {
+                current = queue[head];
+                head = (head + 1) % queue.length;
+                size--;
+                queued[current] = false;
+                statistics.constraintCheck();
+                propagators[current].propagate(this);
+            }
+        } catch (UnsatisfiableException e) {
+            statistics.failure();
+            if (current >= 0) {
+                listener.failed(propagators[current]);
+            }
+            if (explanations != null) {
+                if (current >= 0) {
+                    explanations.failed(propagators[current].getScope());
+                } else {
+                    explanations.failedWithoutReason();
+                }
+            }
+            throw e;
+        } finally {
+            current = -1;
+            for (; size > 0; size--) {
+                queued[queue[head]] = false;
+                head = (head + 1) % queue.length;
+            }
+        }
+    }
+}
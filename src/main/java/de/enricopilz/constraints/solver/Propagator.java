@@ -0,0 +1,30 @@
+package de.enricopilz.constraints.solver;
+
+import de.enricopilz.constraints.UnsatisfiableException;
+import de.enricopilz.constraints.description.Variable;
+
+/**
+ * Removes values of the variables in its scope, which can not be part of a solution.
+ * A propagator reaches its own fixpoint, it is only scheduled again if other propagators change its variables.
+ */
+interface Propagator<S> {
+
+    /** indices of the variables */
+    int[] getScope();
+
+    void propagate(PropagationEngine<S> engine) throws UnsatisfiableException;
+
+    /** true, if the propagator wants to be told about every single change of its variables */
+    default boolean watchesChanges() {
+        return false;
+    }
+
+    /** the variable at this position of the scope changed, only called if the propagator watches changes */
+    default void changed(final PropagationEngine<S> engine, final int position) {
+    }
+
+    /** estimated number of values, which would be removed from other variables by this assignment */
+    default int countConflicts(final PropagationEngine<S> engine, final Variable<S> variable, final int value) {
+        return 0;
+    }
+}
@@ -0,0 +1,77 @@
+package de.enricopilz.constraints.solver;
+
+import de.enricopilz.constraints.api.SolverConfiguration;
+import de.enricopilz.constraints.api.SolverConfiguration.Restarts;
+
+/** counts the failures since the last restart and decides, when the search starts again */
+class RestartStrategy {
+
+    private final Restarts restarts;
+
+    private final long base;
+
+    private final double factor;
+
+    // number of restarts so far
+    private int runs;
+
+    private long cutoff;
+
+    private long failures;
+
+    RestartStrategy(final SolverConfiguration configuration) {
+        this.restarts = configuration.getRestarts();
+        this.base = configuration.getRestartCutoff();
+        this.factor = configuration.getRestartFactor();
+        this.cutoff = cutoff(0);
+    }
+
+    void failure() {
+        failures++;
+    }
+
+    /** true if the failures reached the cutoff, the next run gets the next cutoff */
+    boolean restart() {
+        if (failures < cutoff) {
+            return false;
+        }
+        runs++;
+        failures = 0;
+        cutoff = cutoff(runs);
+        return true;
+    }
+
+    int getRuns() {
+        return runs;
+    }
+
+    private long cutoff(final int run) {
+        if (restarts == Restarts.LUBY) {
+            return saturatedMultiply(base, luby(run + 1));
+        }
+        if (restarts == Restarts.GEOMETRIC) {
+            final double cutoff = base * Math.pow(factor, run);
+            return cutoff >= Long.MAX_VALUE ? Long.MAX_VALUE : (long) cutoff;
+        }
+        return Long.MAX_VALUE;
+    }
+
+    /** i-th element (starting with 1) of the Luby sequence 1, 1, 2, 1, 1, 2, 4, 1, 1, 2, 1, 1, 2, 4, 8, ... */
+    static long luby(final int i) {
+        // find the complete subsequence of length 2^k - 1 containing i
+        int k = 1;
+        while ((1L << k) - 1 < i) {
+            k++;
+        }
+        if ((1L << k) - 1 == i) {
+            return 1L << (k - 1);
+        }
+        // otherwise i lies in the repeated prefix of length 2^(k-1) - 1
+        return luby(i - (int) (1L << (k - 1)) + 1);
+    }
+
+    private static long saturatedMultiply(final long a, final long b) {
+        final long high = Math.multiplyHigh(a, b);
+        return high != 0 || a * b < 0 ? Long.MAX_VALUE : a * b;
+    }
+}
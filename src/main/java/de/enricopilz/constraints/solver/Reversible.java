@@ -0,0 +1,11 @@
+package de.enricopilz.constraints.solver;
+
+/**
+ * State of a propagator, which has to be restored together with the domains.
+ * The propagator saves its state itself and registers at the {@link Trail} on the first change after a choice point.
+ */
+interface Reversible {
+
+    /** go back to the state before the last registration */
+    void restore();
+}
@@ -0,0 +1,96 @@
+package de.enricopilz.constraints.solver;
+
+import java.util.Arrays;
+
+/**
+ * Longs of a propagator state, which are restored by the trail: the first change of a value after a choice point
+ * saves its old value, going back before the choice point restores it.
+ * With clones (trail level -1) and at level 0 the changes are never undone, so nothing is saved.
+ */
+class ReversibleLongArray implements Reversible {
+
+    private final long[] values;
+
+    // trail level, at which each value was saved last
+    private final int[] stamps;
+
+    // undo log of the saved values
+    private int[] savedIndices = new int[16];
+    private long[] savedValues = new long[16];
+    private int[] savedStamps = new int[16];
+    private int logSize;
+
+    // per choice point with changes: level of the frame before and size of the undo log
+    private int[] frameLevels = new int[8];
+    private int[] frameLogSizes = new int[8];
+    private int frames;
+
+    // trail level of the newest frame
+    private int frameLevel;
+
+    ReversibleLongArray(final int length) {
+        this.values = new long[length];
+        this.stamps = new int[length];
+    }
+
+    long get(final int index) {
+        return values[index];
+    }
+
+    void set(final PropagationEngine<?> engine, final int index, final long value) {
+        if (values[index] == value) {
+            return;
+        }
+        final int level = engine.getTrailLevel();
+        if (level > 0 && stamps[index] != level) {
+            save(engine, index, level);
+        }
+        values[index] = value;
+    }
+
+    /** only without trail or before the search, the old values are not saved */
+    void fill(final long value) {
+        Arrays.fill(values, value);
+    }
+
+    /** like {@link #fill(long)} for a single value */
+    void setInitial(final int index, final long value) {
+        values[index] = value;
+    }
+
+    @Override
+    public void restore() {
+        frames--;
+        while (logSize > frameLogSizes[frames]) {
+            logSize--;
+            final int index = savedIndices[logSize];
+            values[index] = savedValues[logSize];
+            stamps[index] = savedStamps[logSize];
+        }
+        frameLevel = frameLevels[frames];
+    }
+
+    private void save(final PropagationEngine<?> engine, final int index, final int level) {
+        if (frameLevel != level) {
+            if (frames == frameLevels.length) {
+                frameLevels = Arrays.copyOf(frameLevels, 2 * frames);
+                frameLogSizes = Arrays.copyOf(frameLogSizes, 2 * frames);
+            }
+            frameLevels[frames] = frameLevel;
+            frameLogSizes[frames] = logSize;
+            frames++;
+            frameLevel = level;
+            engine.save(this);
+        }
+        if (logSize == savedIndices.length) {
+            savedIndices = Arrays.copyOf(savedIndices, 2 * logSize);
+            savedValues = Arrays.copyOf(savedValues, 2 * logSize);
+            savedStamps = Arrays.copyOf(savedStamps, 2 * logSize);
+        }
+        savedIndices[logSize] = index;
+        savedValues[logSize] = values[index];
+        savedStamps[logSize] = stamps[index];
+        logSize++;
+        stamps[index] = level;
+    }
+}
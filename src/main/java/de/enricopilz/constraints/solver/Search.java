@@ -0,0 +1,474 @@
+package de.enricopilz.constraints.solver;
+
+import de.enricopilz.constraints.UnsatisfiableException;
+import de.enricopilz.constraints.api.Problem;
+import de.enricopilz.constraints.api.Solution;
+import de.enricopilz.constraints.api.SolverConfiguration;
+import de.enricopilz.constraints.api.SolverConfiguration.Backtracking;
+import de.enricopilz.constraints.api.Termination;
+import de.enricopilz.constraints.description.Variable;
+import de.enricopilz.constraints.description.Variables;
+
+import java.util.ArrayDeque;
+import java.util.BitSet;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Random;
+import java.util.function.IntPredicate;
+
+/**
+ * Depth first search with an explicit stack of choice points.
+ * The search stops after each solution and continues only when the next one is requested.
+ */
+class Search<S> implements Iterator<Solution<S>> {
+
+    private static class ChoicePoint<S> {
+        private final Variable<S> variable;
+        private final int[] values;
+        // variables at the choice point, only used for backtracking with clones
+        private final Variables<S> variables;
+        private int next;
+        // a trail level is pushed for the current value
+        private boolean open;
+        // only for backjumping: earlier levels responsible for the failed values
+        private BitSet conflicts;
+        // a solution was found below, so the failures do not justify a backjump
+        private boolean solutionBelow;
+
+        ChoicePoint(final Variable<S> variable, final int[] values, final Variables<S> variables) {
+            this.variable = variable;
+            this.values = values;
+            this.variables = variables;
+        }
+    }
+
+    private final Problem<S> problem;
+
+    private final Deque<ChoicePoint<S>> stack = new ArrayDeque<>();
+
+    private final PropagationEngine<S> engine;
+
+    private final VariableSelector<S> selector;
+
+    private final ValueSelector<S> valueSelector;
+
+    // only used for backtracking with trail
+    private Trail<S> trail;
+
+    private Variables<S> variables;
+
+    private boolean started;
+
+    private boolean exhausted;
+
+    // the current variables are propagated without contradiction
+    private boolean consistent;
+
+    // the same for the state below the choice points, only changed by incremental solving
+    private boolean rootConsistent;
+
+    // only for incremental solving: consistency of the state before each scope
+    private final Deque<Boolean> scopes = new ArrayDeque<>();
+
+    private Solution<S> nextSolution;
+
+    // checked at every choice point and guess
+    private SearchLimits limits;
+
+    private final StatisticsCollector statistics;
+
+    // null without backjumping
+    private Explanations explanations;
+
+    // null without nogood learning
+    private Nogoods nogoods;
+
+    private final RestartStrategy restarts;
+
+    // breaks the ties of the variable selection differently after each restart
+    private final Random random;
+
+    // no more restarts after the first solution, otherwise solutions would be found again
+    private boolean solutionFound;
+
+    // only for branch and bound: best value so far and the propagator keeping the objective below it
+    private ObjectiveBound<S> bound;
+    private LinearPropagator<S> objective;
+
+    Search(final Problem<S> problem, final SolverConfiguration configuration) {
+        this(problem, configuration, problem.getCompiled().newVariables(), 0);
+    }
+
+    /** search below a given state at the given depth, e.g. a branch of the parallel search */
+    Search(final Problem<S> problem, final SolverConfiguration configuration, final Variables<S> start, final int depth) {
+        this(problem, configuration, start, depth, null);
+    }
+
+    /** with the variable selector of a parallel worker, so its weights are kept from one search to the next */
+    Search(final Problem<S> problem, final SolverConfiguration configuration, final Variables<S> start, final int depth,
+           final VariableSelector<S> workerSelector) {
+        this.problem = problem;
+        this.variables = start.deepClone();
+        this.limits = new SearchLimits(configuration);
+        this.statistics = new StatisticsCollector(configuration.isCollectStatistics(), depth);
+        this.engine = new PropagationEngine<>(problem.getCompiled());
+        this.engine.setStatistics(statistics);
+        if (workerSelector == null) {
+            this.selector = VariableSelector.create(configuration.getVariableSelection(), engine, variables);
+        } else {
+            this.selector = workerSelector;
+            workerSelector.attach(variables);
+        }
+        this.engine.setListener(selector);
+        this.valueSelector = ValueSelector.create(configuration, engine, variables.size());
+        if (configuration.isBackjumping()) {
+            this.explanations = new Explanations(variables.size());
+            this.engine.setExplanations(explanations);
+            if (configuration.getMaxNogoods() > 0) {
+                this.nogoods = new Nogoods(variables.size(), configuration.getMaxNogoods(), configuration.getMaxNogoodSize());
+            }
+        }
+        if (configuration.getBacktracking() == Backtracking.TRAIL) {
+            this.trail = new Trail<>(variables.size(), selector, explanations);
+        }
+        this.restarts = new RestartStrategy(configuration);
+        this.random = new Random(configuration.getRandomSeed());
+    }
+
+    /** share the limits with other searches, e.g. the workers of the parallel search */
+    void setLimits(final SearchLimits limits) {
+        this.limits = limits;
+    }
+
+    /** branch and bound: only solutions better than the bound are returned, and each of them tightens the bound */
+    void setObjectiveBound(final ObjectiveBound<S> bound) {
+        final int id = problem.getCompiled().getObjectiveConstraint();
+        if (id < 0) {
+            throw new IllegalStateException("The problem has no objective.");
+        }
+        this.bound = bound;
+        this.objective = (LinearPropagator<S>) engine.getPropagators()[id];
+    }
+
+    Termination getTermination() {
+        return limits.getTermination(exhausted);
+    }
+
+    StatisticsCollector getStatistics() {
+        return statistics;
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (nextSolution == null && !exhausted) {
+            nextSolution = search() ? variables.extractSolution() : null;
+            exhausted = nextSolution == null;
+        }
+        return nextSolution != null;
+    }
+
+    /** number of the remaining solutions, they are counted at the leaves without creating them */
+    long count() {
+        long count = 0L;
+        while (!exhausted) {
+            if (search()) {
+                count++;
+            } else {
+                exhausted = true;
+            }
+        }
+        return count;
+    }
+
+    @Override
+    public Solution<S> next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        final Solution<S> solution = nextSolution;
+        nextSolution = null;
+        return solution;
+    }
+
+    /** true, if the current variables are the next solution */
+    private boolean search() {
+        initialize();
+        final long start = statistics.start();
+        try {
+            return searchFromCurrentState();
+        } finally {
+            statistics.searching(start);
+        }
+    }
+
+    private boolean searchFromCurrentState() {
+        while (!limits.isStopped()) {
+            if (consistent) {
+                if (variables.isSolved(variables.countSolvedVariables())) {
+                    // continue with the next value of the last choice point, when asked again
+                    consistent = false;
+                    solutionFound = true;
+                    valueSelector.solutionFound(variables);
+                    stack.forEach(choicePoint -> choicePoint.solutionBelow = true);
+                    if (bound != null && !bound.improve(objective.evaluate(engine), variables.extractSolution())) {
+                        // a parallel search was faster
+                        continue;
+                    }
+                    return limits.solution();
+                }
+                if (!limits.node()) {
+                    return false;
+                }
+                final Variable<S> unsolvedVariable = selector.select(variables);
+                final ChoicePoint<S> choicePoint = new ChoicePoint<>(unsolvedVariable, valueSelector.order(unsolvedVariable),
+                        trail == null ? variables : null);
+                if (explanations != null) {
+                    // values pruned before are not tried
+                    choicePoint.conflicts = (BitSet) explanations.get(unsolvedVariable.getIndex()).clone();
+                }
+                stack.push(choicePoint);
+                statistics.node(stack.size());
+            }
+            if (stack.isEmpty()) {
+                return false;
+            }
+            if (!consistent && !solutionFound && restarts.restart()) {
+                restart();
+                continue;
+            }
+            consistent = guessPart(stack.peek());
+        }
+        return false;
+    }
+
+    private void initialize() {
+        if (!started) {
+            started = true;
+            final long start = statistics.start();
+            rootConsistent = initialPart();
+            consistent = rootConsistent;
+            statistics.initial(start);
+        }
+    }
+
+    private boolean initialPart() {
+        if (!problem.getCompiled().isConsistent()) {
+            return false;
+        }
+        engine.attach(variables, trail);
+        try {
+            engine.scheduleAll();
+            engine.propagate();
+            return true;
+        } catch (UnsatisfiableException e) {
+            return false;
+        }
+    }
+
+    /** tries the next value of the choice point, false if it fails or no value is left */
+    private boolean guessPart(final ChoicePoint<S> choicePoint) {
+        if (choicePoint.open) {
+            trail.pop();
+            choicePoint.open = false;
+        }
+        if (choicePoint.next == choicePoint.values.length) {
+            stack.pop();
+            if (explanations != null) {
+                backjump(choicePoint);
+            }
+            return false;
+        }
+        final int possibility = choicePoint.values[choicePoint.next++];
+        if (nogoods != null) {
+            final int[] blocking = nogoods.blocking(choicePoint.variable.getIndex(), possibility, variables);
+            if (blocking != null) {
+                for (int index : blocking) {
+                    choicePoint.conflicts.or(explanations.get(index));
+                }
+                choicePoint.conflicts.clear(stack.size());
+                statistics.failure();
+                limits.failure();
+                restarts.failure();
+                return false;
+            }
+        }
+        valueSelector.guessed(choicePoint.variable, possibility);
+        statistics.guess();
+        final Variable<S> guessed;
+        if (trail == null) {
+            variables = choicePoint.variables.deepClone();
+            statistics.cloned();
+            engine.attach(variables, null);
+            selector.attach(variables);
+            guessed = variables.get(choicePoint.variable.getIndex());
+        } else {
+            // only the changes below this choice point are recorded and undone afterwards
+            trail.push();
+            choicePoint.open = true;
+            guessed = choicePoint.variable;
+        }
+        final long start = statistics.start();
+        try {
+            engine.assign(guessed, possibility);
+            if (bound != null) {
+                // the bound may have changed since the last propagation of the objective
+                objective.tighten(bound.get() - 1);
+                engine.schedule(problem.getCompiled().getObjectiveConstraint());
+            }
+            if (explanations != null) {
+                explanations.decided(guessed.getIndex(), stack.size());
+            }
+            // only constraints of changed variables are checked again
+            engine.propagate();
+            return true;
+        } catch (UnsatisfiableException e) {
+            limits.failure();
+            restarts.failure();
+            if (explanations != null) {
+                blame(choicePoint, explanations.getConflict());
+            }
+            return false;
+        } finally {
+            statistics.reasoning(start);
+            if (trail != null) {
+                statistics.trailSize(trail.size());
+            }
+        }
+    }
+
+    /** incremental solving: the next search starts again below the current scopes, with new limits */
+    void reset(final SearchLimits limits) {
+        unwind();
+        this.limits = limits;
+    }
+
+    /** incremental solving: the changes from now on are undone by {@link #pop()} */
+    void push() {
+        unwind();
+        scopes.push(rootConsistent);
+        trail.push();
+    }
+
+    void pop() {
+        if (scopes.isEmpty()) {
+            throw new IllegalStateException("No scope to pop.");
+        }
+        unwind();
+        trail.pop();
+        rootConsistent = scopes.pop();
+        consistent = rootConsistent;
+        if (nogoods != null) {
+            // the nogoods may depend on the restrictions of the scope
+            nogoods.clear();
+        }
+    }
+
+    /** incremental solving: false, if the restrictions can not be satisfied */
+    boolean isConsistent() {
+        initialize();
+        return rootConsistent;
+    }
+
+    /** incremental solving: removes the values of the variable and propagates, false if there is no solution anymore */
+    boolean restrict(final int index, final IntPredicate removed) {
+        unwind();
+        if (rootConsistent) {
+            final long start = statistics.start();
+            try {
+                engine.removeIf(variables.get(index), removed);
+                engine.propagate();
+            } catch (UnsatisfiableException e) {
+                rootConsistent = false;
+                consistent = false;
+            } finally {
+                statistics.reasoning(start);
+            }
+        }
+        return rootConsistent;
+    }
+
+    /** goes back to the state below the choice points */
+    private void unwind() {
+        initialize();
+        while (!stack.isEmpty()) {
+            if (stack.pop().open) {
+                trail.pop();
+            }
+        }
+        nextSolution = null;
+        exhausted = false;
+        solutionFound = false;
+        consistent = rootConsistent;
+    }
+
+    /** goes back to the state before the first guess, the weights of the selector and the nogoods are kept */
+    private void restart() {
+        final Variables<S> root = stack.peekLast().variables;
+        while (!stack.isEmpty()) {
+            if (stack.pop().open) {
+                trail.pop();
+            }
+        }
+        if (trail == null) {
+            variables = root;
+            engine.attach(variables, null);
+            selector.attach(variables);
+        }
+        selector.restarted(random);
+        statistics.restart();
+        consistent = true;
+    }
+
+    /** the failed value of the choice point on top of the stack was caused by the given levels */
+    private void blame(final ChoicePoint<S> choicePoint, final BitSet conflict) {
+        final int level = stack.size();
+        if (conflict == null) {
+            choicePoint.conflicts.set(1, level);
+            return;
+        }
+        choicePoint.conflicts.or(conflict);
+        choicePoint.conflicts.clear(level);
+        if (!conflict.get(level)) {
+            // the failure does not depend on this decision, so all other values fail the same way
+            choicePoint.next = choicePoint.values.length;
+        }
+    }
+
+    /** all values of the popped choice point failed, jump back to the latest level responsible */
+    private void backjump(final ChoicePoint<S> exhausted) {
+        final BitSet conflicts = exhausted.conflicts;
+        final int target = exhausted.solutionBelow ? stack.size() : conflicts.length() - 1;
+        if (nogoods != null && !exhausted.solutionBelow) {
+            learn(conflicts);
+        }
+        while (stack.size() > Math.max(target, 0)) {
+            final ChoicePoint<S> skipped = stack.pop();
+            if (skipped.open) {
+                trail.pop();
+            }
+        }
+        if (!stack.isEmpty()) {
+            final ChoicePoint<S> choicePoint = stack.peek();
+            choicePoint.conflicts.or(conflicts);
+            choicePoint.conflicts.clear(target);
+        }
+    }
+
+    /** the current decisions of the conflicting levels can not be part of a solution */
+    private void learn(final BitSet conflicts) {
+        final int[] indices = new int[conflicts.cardinality()];
+        final int[] values = new int[indices.length];
+        int level = stack.size();
+        int i = 0;
+        for (ChoicePoint<S> choicePoint : stack) {
+            if (conflicts.get(level)) {
+                indices[i] = choicePoint.variable.getIndex();
+                values[i] = choicePoint.values[choicePoint.next - 1];
+                i++;
+            }
+            level--;
+        }
+        nogoods.learn(indices, values);
+    }
+}
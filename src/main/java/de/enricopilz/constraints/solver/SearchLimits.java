@@ -0,0 +1,133 @@
+package de.enricopilz.constraints.solver;
+
+import de.enricopilz.constraints.api.SolverConfiguration;
+import de.enricopilz.constraints.api.Termination;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Budgets of one search, shared by all workers of the parallel search.
+ * The first exceeded limit stops the search.
+ */
+class SearchLimits {
+
+    private final long timeLimitNanos;
+
+    // set by the first check of the search, not when the limits are created
+    private volatile boolean started;
+
+    private volatile long start;
+
+    private final long maxNodes;
+
+    private final long maxFailures;
+
+    private final long maxSolutions;
+
+    // interrupting this thread cancels the search
+    private final Thread owner = Thread.currentThread();
+
+    private final AtomicLong nodes = new AtomicLong();
+
+    private final AtomicLong failures = new AtomicLong();
+
+    private final AtomicLong solutions = new AtomicLong();
+
+    private final AtomicReference<Termination> termination = new AtomicReference<>();
+
+    SearchLimits(final SolverConfiguration configuration) {
+        this(configuration, Long.MAX_VALUE);
+    }
+
+    /** stops after the given number of solutions at the latest, e.g. when counting them */
+    SearchLimits(final SolverConfiguration configuration, final long maxSolutions) {
+        if (maxSolutions < 1) {
+            throw new IllegalArgumentException("Limit must be positive: " + maxSolutions);
+        }
+        this.timeLimitNanos = configuration.getTimeLimit().map(SearchLimits::toNanos).orElse(Long.MAX_VALUE);
+        this.maxNodes = configuration.getMaxNodes();
+        this.maxFailures = configuration.getMaxFailures();
+        this.maxSolutions = Math.min(maxSolutions,
+                configuration.isFirstSolutionOnly() ? 1 : configuration.getMaxSolutions());
+    }
+
+    private static long toNanos(final Duration duration) {
+        try {
+            return duration.toNanos();
+        } catch (ArithmeticException e) {
+            return Long.MAX_VALUE;
+        }
+    }
+
+    /** checked before each choice point and guess, true if the search has to stop */
+    boolean isStopped() {
+        if (termination.get() != null) {
+            return true;
+        }
+        if (owner.isInterrupted()) {
+            stop(Termination.INTERRUPTED);
+        } else if (timeLimitNanos != Long.MAX_VALUE && elapsedNanos() > timeLimitNanos) {
+            // the clock is only read with a time limit
+            stop(Termination.TIME_LIMIT);
+        }
+        return termination.get() != null;
+    }
+
+    private long elapsedNanos() {
+        final long now = System.nanoTime();
+        if (!started) {
+            synchronized (this) {
+                if (!started) {
+                    start = now;
+                    started = true;
+                }
+            }
+        }
+        return now - start;
+    }
+
+    /** @return false, if there is no budget for another choice point */
+    boolean node() {
+        if (nodes.incrementAndGet() > maxNodes) {
+            stop(Termination.NODE_LIMIT);
+            return false;
+        }
+        return true;
+    }
+
+    /** like the choice points, the given number of failures is allowed, the next one stops the search */
+    void failure() {
+        if (failures.incrementAndGet() > maxFailures) {
+            stop(Termination.FAILURE_LIMIT);
+        }
+    }
+
+    /** @return false, if the solution exceeds the limit, e.g. another worker was faster */
+    boolean solution() {
+        final long count = solutions.incrementAndGet();
+        if (count >= maxSolutions) {
+            stop(Termination.SOLUTION_LIMIT);
+        }
+        return count <= maxSolutions;
+    }
+
+    /** stops the search from outside, e.g. because nobody waits for the solutions anymore */
+    void cancel() {
+        stop(Termination.INTERRUPTED);
+    }
+
+    private void stop(final Termination reason) {
+        termination.compareAndSet(null, reason);
+    }
+
+    /** @param exhausted the search tree was explored or a limit was hit */
+    Termination getTermination(final boolean exhausted) {
+        final Termination reason = termination.get();
+        if (reason != null) {
+            return reason;
+        }
+        return exhausted ? Termination.COMPLETE : Termination.PENDING;
+    }
+}
@@ -0,0 +1,15 @@
+package de.enricopilz.constraints.solver;
+
+import de.enricopilz.constraints.description.Variable;
+
+/** gets notified about events during propagation and backtracking */
+interface SearchListener<S> {
+
+    /** domain of the variable got smaller, or was restored */
+    default void changed(Variable<S> variable) {
+    }
+
+    /** the propagator removed all values of a variable */
+    default void failed(Propagator<S> propagator) {
+    }
+}
@@ -0,0 +1,112 @@
+package de.enricopilz.constraints.solver;
+
+import de.enricopilz.constraints.api.Problem;
+import de.enricopilz.constraints.api.Solution;
+import de.enricopilz.constraints.api.SolverConfiguration;
+import de.enricopilz.constraints.api.SolverConfiguration.Backtracking;
+import de.enricopilz.constraints.api.SolverStatistics;
+import de.enricopilz.constraints.api.Termination;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.IntPredicate;
+
+/**
+ * Incremental solving: restrictions are added one after another and propagated right away, each query searches
+ * from the propagated state. The initial propagation is done once, so a query after a new restriction only costs
+ * the propagation of this restriction and the search. Scopes are undone by the trail, like choice points.
+ * <p>
+ * S : Type of symbols
+ */
+public class SolverSession<S> {
+
+    private final Problem<S> problem;
+
+    private final SolverConfiguration configuration;
+
+    // kept between the queries, its choice points are undone before each change
+    private final Search<S> search;
+
+    private int depth;
+
+    public SolverSession(final Problem<S> problem) {
+        this(problem, SolverConfiguration.defaults());
+    }
+
+    public SolverSession(final Problem<S> problem, final SolverConfiguration configuration) {
+        if (problem.getVariables().isEmpty()) {
+            throw new IllegalArgumentException("Cannot solve a problem without variables.");
+        }
+        if (configuration.getBacktracking() != Backtracking.TRAIL) {
+            throw new IllegalArgumentException("Incremental solving needs backtracking with trail.");
+        }
+        this.problem = problem;
+        this.configuration = configuration;
+        this.search = new Search<>(problem, configuration);
+    }
+
+    /** the restrictions from now on are undone by the matching {@link #pop()} */
+    public void push() {
+        search.push();
+        depth++;
+    }
+
+    public void pop() {
+        search.pop();
+        depth--;
+    }
+
+    /** number of open scopes */
+    public int getDepth() {
+        return depth;
+    }
+
+    /** @return false, if there is no solution anymore, until the scope is popped (forever without a scope) */
+    public boolean assign(final S symbol, final int value) {
+        return restrict(symbol, v -> v == value);
+    }
+
+    /** keeps only the allowed values of the variable, false if there is no solution anymore */
+    public boolean restrict(final S symbol, final IntPredicate allowed) {
+        return search.restrict(problem.getCompiled().indexOf(symbol), allowed.negate());
+    }
+
+    /** false, if the propagation of the restrictions showed that there is no solution */
+    public boolean isConsistent() {
+        return search.isConsistent();
+    }
+
+    /** first solution with the current restrictions */
+    public Optional<Solution<S>> solve() {
+        search.reset(new SearchLimits(configuration, 1));
+        return search.hasNext() ? Optional.of(search.next()) : Optional.empty();
+    }
+
+    /** first solution with these values assigned in addition, the assumptions are undone afterwards */
+    public Optional<Solution<S>> solve(final Map<S, Integer> assumptions) {
+        push();
+        try {
+            // after a contradiction the search ends right away
+            assumptions.forEach(this::assign);
+            return solve();
+        } finally {
+            pop();
+        }
+    }
+
+    /** number of solutions with the current restrictions, but at most the limit, e.g. 2 for a uniqueness check */
+    public long countSolutions(final long limit) {
+        search.reset(new SearchLimits(configuration, limit));
+        return search.count();
+    }
+
+    /** statistics of all queries so far, including the propagation of the restrictions */
+    public SolverStatistics getStatistics() {
+        return search.getStatistics().snapshot();
+    }
+
+    /** why the last query stopped */
+    public Termination getTermination() {
+        return search.getTermination();
+    }
+}
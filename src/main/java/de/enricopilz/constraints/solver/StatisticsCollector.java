@@ -0,0 +1,144 @@
+package de.enricopilz.constraints.solver;
+
+import de.enricopilz.constraints.api.SolverStatistics;
+
+import java.time.Duration;
+
+/**
+ * Mutable counters of one search, used by a single thread only.
+ * If disabled, every method returns immediately and the clock is never read.
+ */
+class StatisticsCollector {
+
+    private final boolean enabled;
+
+    // depth of the state, at which the search started
+    private final int depthOffset;
+
+    private long nodes;
+    private long guesses;
+    private long failures;
+    private int maxDepth;
+    private long constraintChecks;
+    private long valuesPruned;
+    private long clones;
+    private int maxTrailSize;
+    private long restarts;
+    private long initialNanos;
+    private long reasoningNanos;
+    private long searchingNanos;
+
+    StatisticsCollector(final boolean enabled, final int depthOffset) {
+        this.enabled = enabled;
+        this.depthOffset = depthOffset;
+    }
+
+    void node(final int depth) {
+        if (enabled) {
+            nodes++;
+            maxDepth = Math.max(maxDepth, depthOffset + depth);
+        }
+    }
+
+    void guess() {
+        if (enabled) {
+            guesses++;
+        }
+    }
+
+    void failure() {
+        if (enabled) {
+            failures++;
+        }
+    }
+
+    void constraintCheck() {
+        if (enabled) {
+            constraintChecks++;
+        }
+    }
+
+    void pruned(final int values) {
+        if (enabled) {
+            valuesPruned += values;
+        }
+    }
+
+    void cloned() {
+        if (enabled) {
+            clones++;
+        }
+    }
+
+    void trailSize(final int size) {
+        if (enabled) {
+            maxTrailSize = Math.max(maxTrailSize, size);
+        }
+    }
+
+    void restart() {
+        if (enabled) {
+            restarts++;
+        }
+    }
+
+    /** start of a phase, 0 if disabled */
+    long start() {
+        return enabled ? System.nanoTime() : 0L;
+    }
+
+    void initial(final long start) {
+        if (enabled) {
+            initialNanos += System.nanoTime() - start;
+        }
+    }
+
+    void reasoning(final long start) {
+        if (enabled) {
+            reasoningNanos += System.nanoTime() - start;
+        }
+    }
+
+    /** the whole search after the initial part, including the reasoning */
+    void searching(final long start) {
+        if (enabled) {
+            searchingNanos += System.nanoTime() - start;
+        }
+    }
+
+    /** adds the counters of another search, e.g. of a parallel worker */
+    void add(final StatisticsCollector other) {
+        nodes += other.nodes;
+        guesses += other.guesses;
+        failures += other.failures;
+        maxDepth = Math.max(maxDepth, other.maxDepth);
+        constraintChecks += other.constraintChecks;
+        valuesPruned += other.valuesPruned;
+        clones += other.clones;
+        maxTrailSize = Math.max(maxTrailSize, other.maxTrailSize);
+        restarts += other.restarts;
+        initialNanos += other.initialNanos;
+        reasoningNanos += other.reasoningNanos;
+        searchingNanos += other.searchingNanos;
+    }
+
+    SolverStatistics snapshot() {
+        if (!enabled) {
+            return SolverStatistics.NONE;
+        }
+        final SolverStatistics.Builder builder = new SolverStatistics.Builder();
+        builder.setNodes(nodes);
+        builder.setGuesses(guesses);
+        builder.setFailures(failures);
+        builder.setMaxDepth(maxDepth);
+        builder.setConstraintChecks(constraintChecks);
+        builder.setValuesPruned(valuesPruned);
+        builder.setClones(clones);
+        builder.setMaxTrailSize(maxTrailSize);
+        builder.setRestarts(restarts);
+        builder.setInitialTime(Duration.ofNanos(initialNanos));
+        builder.setReasoningTime(Duration.ofNanos(reasoningNanos));
+        builder.setGuessingTime(Duration.ofNanos(Math.max(0L, searchingNanos - reasoningNanos)));
+        return builder.build();
+    }
+}
@@ -0,0 +1,225 @@
+package de.enricopilz.constraints.solver;
+
+import de.enricopilz.constraints.UnsatisfiableException;
+import de.enricopilz.constraints.description.Variable;
+import de.enricopilz.constraints.description.constraint.TableConstraint;
+
+import java.util.Arrays;
+
+/**
+ * Compact-Table: a reversible sparse bitset marks the tuples, whose values are all still possible.
+ * Changed domains remove the tuples without support, then every value needs a remaining tuple (GAC).
+ * For forbidden tuples a value is removed, if all combinations with the other domains are forbidden.
+ * With clones there is no trail, so the bitset is rebuilt from the domains on every run.
+ */
+class TablePropagator<S> implements Propagator<S> {
+
+    // position of the limit in the counters after the domain sizes
+    private final int limitPosition;
+
+    private final int[] scope;
+
+    private final boolean allowed;
+
+    private final int numberOfTuples;
+
+    // per position in the scope: sorted values occurring in the tuples and the tuples with this value
+    private final int[][] values;
+    private final long[][][] supports;
+
+    // word of the last support found per position and value
+    private final int[][] residues;
+
+    // valid tuples, only the words index[0..limit) may be non zero
+    private final ReversibleLongArray words;
+    private final int[] index;
+
+    // domain sizes at the end of the last run (-1 forces an update) and the limit of the valid words
+    private final ReversibleLongArray counters;
+
+    TablePropagator(final TableConstraint<S> constraint, final int[] scope) {
+        this.scope = scope;
+        this.allowed = constraint.isAllowed();
+        final int[][] tuples = constraint.getTuples();
+        this.numberOfTuples = tuples.length;
+        final int wordCount = (numberOfTuples + 63) >>> 6;
+        this.values = new int[scope.length][];
+        this.supports = new long[scope.length][][];
+        this.residues = new int[scope.length][];
+        for (int x = 0; x < scope.length; x++) {
+            final int position = x;
+            values[x] = Arrays.stream(tuples).mapToInt(tuple -> tuple[position]).sorted().distinct().toArray();
+            supports[x] = new long[values[x].length][wordCount];
+            residues[x] = new int[values[x].length];
+            for (int t = 0; t < numberOfTuples; t++) {
+                final int v = Arrays.binarySearch(values[x], tuples[t][x]);
+                supports[x][v][t >>> 6] |= 1L << t;
+                residues[x][v] = t >>> 6;
+            }
+        }
+        this.words = new ReversibleLongArray(wordCount);
+        this.index = new int[wordCount];
+        this.limitPosition = scope.length;
+        this.counters = new ReversibleLongArray(scope.length + 1);
+        reset();
+    }
+
+    @Override
+    public int[] getScope() {
+        return scope;
+    }
+
+    @Override
+    public void propagate(final PropagationEngine<S> engine) throws UnsatisfiableException {
+        if (engine.getTrailLevel() < 0) {
+            reset();
+        }
+        int changed = -1;
+        int changes = 0;
+        for (int x = 0; x < scope.length; x++) {
+            final Variable<S> variable = engine.get(scope[x]);
+            if (variable.size() != counters.get(x)) {
+                intersect(engine, x, variable);
+                changed = x;
+                changes++;
+            }
+        }
+        if (allowed) {
+            if (limit() == 0) {
+                throw Contradiction.INSTANCE;
+            }
+            for (int x = 0; x < scope.length; x++) {
+                // the tuples were just reduced to the values of this variable, so all of them are supported
+                if (changes != 1 || changed != x) {
+                    final int position = x;
+                    engine.removeIf(engine.get(scope[x]), value -> !isSupported(position, value));
+                }
+            }
+        } else {
+            filterForbidden(engine);
+        }
+        for (int x = 0; x < scope.length; x++) {
+            counters.set(engine, x, engine.get(scope[x]).size());
+        }
+    }
+
+    /** without trail, before each run */
+    private void reset() {
+        words.fill(-1L);
+        if (numberOfTuples % 64 != 0) {
+            words.setInitial(index.length - 1, (1L << numberOfTuples) - 1);
+        }
+        for (int w = 0; w < index.length; w++) {
+            index[w] = w;
+        }
+        counters.fill(-1L);
+        counters.setInitial(limitPosition, index.length);
+    }
+
+    private int limit() {
+        return (int) counters.get(limitPosition);
+    }
+
+    /** removes the tuples with a value, which is not in the domain anymore */
+    private void intersect(final PropagationEngine<S> engine, final int x, final Variable<S> variable) {
+        final int[] positions = positionsOf(x, variable.getDomain().toArray());
+        int limit = limit();
+        for (int i = limit - 1; i >= 0; i--) {
+            final int w = index[i];
+            long mask = 0L;
+            for (int v : positions) {
+                mask |= supports[x][v][w];
+            }
+            final long word = words.get(w) & mask;
+            if (word != words.get(w)) {
+                words.set(engine, w, word);
+                if (word == 0L) {
+                    // the order of index does not need to be restored, only the limit
+                    index[i] = index[limit - 1];
+                    index[limit - 1] = w;
+                    limit--;
+                }
+            }
+        }
+        counters.set(engine, limitPosition, limit);
+    }
+
+    /** removed values invalidate forbidden tuples and reduce the combinations, so repeat until nothing changes */
+    private void filterForbidden(final PropagationEngine<S> engine) throws UnsatisfiableException {
+        boolean changed = true;
+        while (changed && limit() > 0) {
+            changed = false;
+            for (int x = 0; x < scope.length; x++) {
+                final int position = x;
+                final Variable<S> variable = engine.get(scope[x]);
+                final long combinations = combinationsOfOthers(engine, x);
+                if (combinations <= numberOfTuples
+                        && engine.removeIf(variable, value -> countForbidden(position, value) >= combinations)) {
+                    intersect(engine, x, variable);
+                    changed = true;
+                }
+            }
+        }
+    }
+
+    private boolean isSupported(final int x, final int value) {
+        final int v = Arrays.binarySearch(values[x], value);
+        if (v < 0) {
+            return false;
+        }
+        final long[] support = supports[x][v];
+        final int residue = residues[x][v];
+        if ((words.get(residue) & support[residue]) != 0L) {
+            return true;
+        }
+        final int limit = limit();
+        for (int i = 0; i < limit; i++) {
+            final int w = index[i];
+            if ((words.get(w) & support[w]) != 0L) {
+                residues[x][v] = w;
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /** valid forbidden tuples with this value */
+    private long countForbidden(final int x, final int value) {
+        final int v = Arrays.binarySearch(values[x], value);
+        if (v < 0) {
+            return 0L;
+        }
+        final long[] support = supports[x][v];
+        long count = 0L;
+        final int limit = limit();
+        for (int i = 0; i < limit; i++) {
+            final int w = index[i];
+            count += Long.bitCount(words.get(w) & support[w]);
+        }
+        return count;
+    }
+
+    /** product of the other domain sizes, stops as soon as it exceeds the number of tuples */
+    private long combinationsOfOthers(final PropagationEngine<S> engine, final int x) {
+        long combinations = 1L;
+        for (int y = 0; y < scope.length && combinations <= numberOfTuples; y++) {
+            if (y != x) {
+                combinations *= engine.get(scope[y]).size();
+            }
+        }
+        return combinations;
+    }
+
+    /** positions of the values within values[x], values of no tuple are left out */
+    private int[] positionsOf(final int x, final int[] domain) {
+        final int[] positions = new int[domain.length];
+        int size = 0;
+        for (int value : domain) {
+            final int v = Arrays.binarySearch(values[x], value);
+            if (v >= 0) {
+                positions[size++] = v;
+            }
+        }
+        return size == positions.length ? positions : Arrays.copyOf(positions, size);
+    }
+}
@@ -0,0 +1,117 @@
+package de.enricopilz.constraints.solver;
+
+import de.enricopilz.constraints.description.Variable;
+import de.enricopilz.constraints.description.domain.Domain;
+
+import java.util.ArrayDeque;
+import java.util.BitSet;
+import java.util.Deque;
+
+/**
+ * Undo log for the domains: before a variable is changed the first time after a choice point,
+ * its domain is saved. Going back to the choice point restores the saved domains.
+ */
+class Trail<S> {
+
+    private static class Entry<S> {
+        private final Variable<S> variable;
+        private final Domain domain;
+        private final int stamp;
+        // only for backjumping
+        private final BitSet reason;
+
+        Entry(final Variable<S> variable, final Domain domain, final int stamp, final BitSet reason) {
+            this.variable = variable;
+            this.domain = domain;
+            this.stamp = stamp;
+            this.reason = reason;
+        }
+    }
+
+    private final Deque<Entry<S>> entries = new ArrayDeque<>();
+
+    // number of entries when a choice point was pushed
+    private final Deque<Integer> marks = new ArrayDeque<>();
+
+    // propagator states changed after the choice points
+    private final Deque<Reversible> reversibles = new ArrayDeque<>();
+
+    // number of reversibles when a choice point was pushed
+    private final Deque<Integer> reversibleMarks = new ArrayDeque<>();
+
+    // level, at which the variable with this index has been saved last
+    private final int[] stamps;
+
+    private int level;
+
+    private final SearchListener<S> listener;
+
+    // null, if the reasons of the domains are not tracked
+    private final Explanations explanations;
+
+    Trail(final int numberOfVariables, final SearchListener<S> listener) {
+        this(numberOfVariables, listener, null);
+    }
+
+    Trail(final int numberOfVariables, final SearchListener<S> listener, final Explanations explanations) {
+        this.stamps = new int[numberOfVariables];
+        this.listener = listener;
+        this.explanations = explanations;
+    }
+
+    /** false, if the domain is already saved for the current choice point */
+    boolean needsSave(final Variable<S> variable) {
+        return level > 0 && stamps[variable.getIndex()] != level;
+    }
+
+    /** call before changing the domain of the variable */
+    void save(final Variable<S> variable) {
+        if (!needsSave(variable)) {
+            return;
+        }
+        final int index = variable.getIndex();
+        final BitSet reason = explanations == null ? null : (BitSet) explanations.get(index).clone();
+        entries.push(new Entry<>(variable, variable.getDomain().copy(), stamps[index], reason));
+        stamps[index] = level;
+    }
+
+    /** register a changed propagator state, call once per choice point */
+    void save(final Reversible reversible) {
+        reversibles.push(reversible);
+    }
+
+    /** number of choice points, changes at level 0 are never undone */
+    int getLevel() {
+        return level;
+    }
+
+    /** new choice point */
+    void push() {
+        marks.push(entries.size());
+        reversibleMarks.push(reversibles.size());
+        level++;
+    }
+
+    /** restore all domains to the state of the last choice point */
+    void pop() {
+        final int mark = marks.pop();
+        while (entries.size() > mark) {
+            final Entry<S> entry = entries.pop();
+            entry.variable.restoreDomain(entry.domain);
+            stamps[entry.variable.getIndex()] = entry.stamp;
+            if (explanations != null) {
+                explanations.restore(entry.variable.getIndex(), entry.reason);
+            }
+            listener.changed(entry.variable);
+        }
+        final int reversibleMark = reversibleMarks.pop();
+        while (reversibles.size() > reversibleMark) {
+            reversibles.pop().restore();
+        }
+        level--;
+    }
+
+    int size() {
+        return entries.size();
+    }
+}
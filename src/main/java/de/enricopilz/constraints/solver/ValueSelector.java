@@ -0,0 +1,155 @@
+package de.enricopilz.constraints.solver;
+
+import de.enricopilz.constraints.api.SolverConfiguration;
+import de.enricopilz.constraints.description.Variable;
+import de.enricopilz.constraints.description.Variables;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Random;
+
+/** order, in which the values of a variable are guessed */
+abstract class ValueSelector<S> {
+
+    static <S> ValueSelector<S> create(final SolverConfiguration configuration, final PropagationEngine<S> engine,
+                                       final int numberOfVariables) {
+        switch (configuration.getValueSelection()) {
+            case MAX:
+                return new Max<>();
+            case LEAST_CONSTRAINING:
+                return new LeastConstraining<>(engine);
+            case RANDOM:
+                return new Shuffled<>(configuration.getRandomSeed());
+            case PHASE_SAVING:
+                return new PhaseSaving<>(numberOfVariables);
+            default:
+                return new Min<>();
+        }
+    }
+
+    abstract int[] order(Variable<S> variable);
+
+    void guessed(final Variable<S> variable, final int value) {
+    }
+
+    void solutionFound(final Variables<S> variables) {
+    }
+
+    private static class Min<S> extends ValueSelector<S> {
+
+        @Override
+        int[] order(final Variable<S> variable) {
+            // bitset domains are ascending already
+            final int[] values = variable.getDomain().toArray();
+            Arrays.sort(values);
+            return values;
+        }
+    }
+
+    private static class Max<S> extends ValueSelector<S> {
+
+        @Override
+        int[] order(final Variable<S> variable) {
+            final int[] values = variable.getDomain().toArray();
+            Arrays.sort(values);
+            for (int i = 0, j = values.length - 1; i < j; i++, j--) {
+                final int tmp = values[i];
+                values[i] = values[j];
+                values[j] = tmp;
+            }
+            return values;
+        }
+    }
+
+    private static class LeastConstraining<S> extends ValueSelector<S> {
+
+        private final PropagationEngine<S> engine;
+
+        LeastConstraining(final PropagationEngine<S> engine) {
+            this.engine = engine;
+        }
+
+        @Override
+        int[] order(final Variable<S> variable) {
+            final int[] values = variable.getDomain().toArray();
+            final int[][] conflicts = new int[values.length][];
+            for (int i = 0; i < values.length; i++) {
+                conflicts[i] = new int[]{engine.countConflicts(variable, values[i]), values[i]};
+            }
+            Arrays.sort(conflicts, Comparator.<int[]>comparingInt(c -> c[0]).thenComparingInt(c -> c[1]));
+            for (int i = 0; i < values.length; i++) {
+                values[i] = conflicts[i][1];
+            }
+            return values;
+        }
+    }
+
+    private static class Shuffled<S> extends ValueSelector<S> {
+
+        private final Random random;
+
+        Shuffled(final long seed) {
+            this.random = new Random(seed);
+        }
+
+        @Override
+        int[] order(final Variable<S> variable) {
+            final int[] values = variable.getDomain().toArray();
+            for (int i = values.length - 1; i > 0; i--) {
+                final int j = random.nextInt(i + 1);
+                final int tmp = values[i];
+                values[i] = values[j];
+                values[j] = tmp;
+            }
+            return values;
+        }
+    }
+
+    private static class PhaseSaving<S> extends ValueSelector<S> {
+
+        private final int[] phases;
+
+        private final boolean[] saved;
+
+        private boolean solutionFound;
+
+        PhaseSaving(final int numberOfVariables) {
+            this.phases = new int[numberOfVariables];
+            this.saved = new boolean[numberOfVariables];
+        }
+
+        @Override
+        int[] order(final Variable<S> variable) {
+            final int[] values = variable.getDomain().toArray();
+            Arrays.sort(values);
+            final int index = variable.getIndex();
+            if (saved[index]) {
+                // move the saved value to the front, keep the others ascending
+                final int pos = Arrays.binarySearch(values, phases[index]);
+                if (pos > 0) {
+                    System.arraycopy(values, 0, values, 1, pos);
+                    values[0] = phases[index];
+                }
+            }
+            return values;
+        }
+
+        @Override
+        void guessed(final Variable<S> variable, final int value) {
+            if (solutionFound) {
+                return;
+            }
+            phases[variable.getIndex()] = value;
+            saved[variable.getIndex()] = true;
+        }
+
+        @Override
+        void solutionFound(final Variables<S> variables) {
+            solutionFound = true;
+            for (int index = 0; index < variables.size(); index++) {
+                phases[index] = variables.get(index).getDomain().min();
+                saved[index] = true;
+            }
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package de.enricopilz.constraints.solver;
+
+import de.enricopilz.constraints.api.SolverConfiguration.VariableSelection;
+import de.enricopilz.constraints.description.Variable;
+import de.enricopilz.constraints.description.Variables;
+
+import java.util.Random;
+
+/** chooses the unsolved variable to guess next */
+abstract class VariableSelector<S> implements SearchListener<S> {
+
+    static <S> VariableSelector<S> create(final VariableSelection selection, final PropagationEngine<S> engine,
+                                          final Variables<S> variables) {
+        if (selection == VariableSelection.INPUT_ORDER) {
+            return new InputOrder<>();
+        }
+        return new HeapVariableSelector<>(selection, engine, variables);
+    }
+
+    /** search continues with these variables (e.g. clones) */
+    void attach(final Variables<S> variables) {
+    }
+
+    /** the search starts again from the root, ties may be broken differently now */
+    void restarted(final Random random) {
+    }
+
+    abstract Variable<S> select(Variables<S> variables);
+
+    private static class InputOrder<S> extends VariableSelector<S> {
+
+        @Override
+        Variable<S> select(final Variables<S> variables) {
+            return variables.chooseUnsolvedVariable();
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package de.enricopilz.constraints.api;
+
+import org.junit.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+
+import static de.enricopilz.constraints.api.TestProblems.permutations;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class BatchSolverTest {
+
+    private static final String SUDOKU =
+            "003020600900305001001806400008102900700000008006708200002609500800203009005010300";
+
+    @Test
+    public void unorderedResultsContainEachInstance() {
+        // GIVEN a batch, which keeps the order in which the instances are finished
+        BatchSolver.Builder batchSolver = new BatchSolver.Builder();
+        batchSolver.setOrdered(false);
+        // WHEN solving problems of different size
+        BatchResult<List<Solution<Integer>>> result =
+                batchSolver.build().solveProblems(Stream.of(permutations(6), permutations(2), permutations(4)));
+        // THEN each instance has its result
+        assertThat(result.getResults()).extracting(List::size).containsExactlyInAnyOrder(720, 2, 24);
+        assertThat(result.getLatency(100)).isGreaterThan(Duration.ZERO);
+    }
+
+    @Test
+    public void readsInputOnlyAsFastAsItIsSolved() throws Exception {
+        // GIVEN an executor, which only runs the tasks when the test decides to
+        BlockingQueue<Runnable> submitted = new LinkedBlockingQueue<>();
+        AtomicInteger read = new AtomicInteger();
+        BatchSolver.Builder batchSolver = new BatchSolver.Builder();
+        batchSolver.setExecutor(submitted::add);
+        batchSolver.setMaxPending(2);
+        BatchSolver solver = batchSolver.build();
+        // WHEN the batch has more instances than may be pending
+        CompletableFuture<BatchResult<List<Solution<Integer>>>> batch = CompletableFuture.supplyAsync(() ->
+                solver.solveProblems(Stream.generate(() -> permutations(3)).limit(5).peek(problem -> read.incrementAndGet())));
+        while (submitted.size() < 2) {
+            Thread.onSpinWait();
+        }
+        Thread.sleep(100);
+        // THEN only two are submitted until one of them is finished
+        assertThat(submitted).hasSize(2);
+        assertThat(read.get()).isLessThanOrEqualTo(3);
+        while (!batch.isDone()) {
+            Runnable task = submitted.poll(10, TimeUnit.MILLISECONDS);
+            if (task != null) {
+                task.run();
+            }
+        }
+        assertThat(batch.get().getResults()).hasSize(5).allSatisfy(solutions -> assertThat(solutions).hasSize(6));
+        assertThat(read.get()).isEqualTo(5);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void throwsExceptionOfFailedInstance() {
+        // a sudoku with too few cells fails while solving
+        new BatchSolver.Builder().build().solveSudokus(List.of(SUDOKU, "123"));
+    }
+
+    @Test
+    public void stopsSubmittingAfterFailedInstance() {
+        // GIVEN a batch, which starts with an invalid sudoku and has one instance pending at most
+        AtomicInteger read = new AtomicInteger();
+        BatchSolver.Builder batchSolver = new BatchSolver.Builder();
+        batchSolver.setMaxPending(1);
+        Stream<String> sudokus = Stream.concat(Stream.of("123"), Stream.generate(() -> SUDOKU).limit(1000))
+                .peek(sudoku -> read.incrementAndGet());
+        // WHEN solving the batch
+        assertThatThrownBy(() -> batchSolver.build().solveSudokus(sudokus)).isInstanceOf(IllegalArgumentException.class);
+        // THEN the input is not read any further after the failure
+        assertThat(read.get()).isLessThanOrEqualTo(2);
+    }
+
+    @Test
+    public void latencyIsNearestRank() {
+        // GIVEN 10 instances with latencies of 1 to 10 ms in any order
+        long[] latencies = LongStream.of(7, 3, 10, 1, 5, 2, 9, 4, 8, 6).map(TimeUnit.MILLISECONDS::toNanos).toArray();
+        BatchResult<Integer> result = new BatchResult<>(
+                IntStream.range(0, 10).boxed().collect(Collectors.toList()), latencies, Duration.ofSeconds(2));
+        // WHEN / THEN the percentile p is the smallest latency, which is at least as large as p % of all latencies
+        assertThat(result.getLatency(0)).isEqualTo(Duration.ofMillis(1));
+        assertThat(result.getLatency(10)).isEqualTo(Duration.ofMillis(1));
+        assertThat(result.getLatency(11)).isEqualTo(Duration.ofMillis(2));
+        assertThat(result.getLatency(50)).isEqualTo(Duration.ofMillis(5));
+        assertThat(result.getLatency(90)).isEqualTo(Duration.ofMillis(9));
+        assertThat(result.getLatency(99)).isEqualTo(Duration.ofMillis(10));
+        assertThat(result.getLatency(100)).isEqualTo(Duration.ofMillis(10));
+        assertThat(result.getThroughput()).isEqualTo(5.0);
+        // the latencies of the caller are not changed
+        assertThat(latencies[0]).isEqualTo(Duration.ofMillis(7).toNanos());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void rejectsPercentileAbove100() {
+        new BatchResult<>(List.of(1), new long[]{1}, Duration.ofSeconds(1)).getLatency(100.5);
+    }
+}
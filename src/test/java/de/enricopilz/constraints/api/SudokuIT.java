@@ -1,16 +1,20 @@
 package de.enricopilz.constraints.api;
 
+import de.enricopilz.constraints.api.SolverConfiguration.VariableSelection;
 import de.enricopilz.constraints.api.representation.Sudoku;
-import org.junit.Ignore;
 import org.junit.Test;
 
 import java.io.BufferedReader;
 import java.io.File;
 import java.io.FileReader;
 import java.net.URL;
+import java.nio.file.Files;
+import java.nio.file.Paths;
 import java.util.*;
 
 import static de.enricopilz.constraints.api.SolverFactory.SolverEnum.DFS;
+import static de.enricopilz.constraints.api.SolverFactory.SolverEnum.DLX;
+import static de.enricopilz.constraints.api.SolverFactory.SolverEnum.PARALLEL_DFS;
 import static de.enricopilz.constraints.api.representation.Sudoku.stripWhiteSpace;
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -45,16 +49,17 @@ public class SudokuIT {
 
     /** Problem definition from http://staffhome.ecm.uwa.edu.au/~00013890/sudokumin.php */
     @Test
-    @Ignore("too inefficient right now")
     public void canSolveMinimalSudokus() throws Exception {
         URL resource = SudokuIT.class.getClassLoader().getResource("sudoku17");
-        File file = new File(Objects.requireNonNull(resource).getFile());
-        BufferedReader b = new BufferedReader(new FileReader(file));
-
-        String readLine;
-        while ((readLine = b.readLine()) != null) {
-            String sol = solveStandardSudoku(readLine);
-            System.out.println(sol);
+        List<String> sudokus = Files.readAllLines(Paths.get(Objects.requireNonNull(resource).toURI()));
+        SolverConfiguration.Builder configuration = new SolverConfiguration.Builder();
+        configuration.setVariableSelection(VariableSelection.DOM_WDEG);
+
+        // every 25th of the 49151 sudokus, about 2 ms each with dom/wdeg
+        for (int i = 0; i < sudokus.size(); i += 25) {
+            List<String> solutions = new Sudoku(sudokus.get(i)).solve(DFS, configuration.build());
+            assertThat(solutions).hasSize(1);
+            assertKeepsGivens(sudokus.get(i), solutions.get(0));
         }
     }
 
@@ -141,6 +146,71 @@ public class SudokuIT {
         assertThat(actualSolutions).containsExactly(stripWhiteSpace(expected));
     }
 
+    @Test
+    public void canSolveSudokuInParallel() {
+        final String givenProblem =
+                "602 100" +
+                "000 000" +
+
+                "060 045" +
+                "540 020" +
+
+                "000 000" +
+                "006 403";
+        Sudoku sudoku = new Sudoku(2, 3, givenProblem);
+        List<String> actualSolutions = sudoku.solve(PARALLEL_DFS);
+        assertThat(actualSolutions).containsExactly(stripWhiteSpace("652134314562261345543621435216126453"));
+    }
+
+    @Test
+    public void canSolveSudokusWithDancingLinks() {
+        final String givenProblem =
+                "0000 02a0 0000" +
+                "00a0 0b04 021c" +
+                "4620 c000 a00b" +
+
+                "0080 0c00 6090" +
+                "0100 00b0 0004" +
+                "70b0 0806 00c0" +
+
+                "0200 1090 0c03" +
+                "6000 0500 00b0" +
+                "0407 00c0 0900" +
+
+                "8003 000a 0572" +
+                "bc60 2070 0a00" +
+                "0000 0130 0000";
+        Sudoku sudoku = new Sudoku(3, 4, givenProblem);
+        assertThat(sudoku.solve(DLX)).isEqualTo(sudoku.solve(DFS));
+        Sudoku sudoku2x3 = new Sudoku(2, 3, "602100000000060045540020000000006403");
+        assertThat(sudoku2x3.solve(DLX)).containsExactly("652134314562261345543621435216126453");
+    }
+
+    @Test
+    public void canSolveMinimalSudokusInBatch() throws Exception {
+        URL resource = SudokuIT.class.getClassLoader().getResource("sudoku17");
+        List<String> sudokus = Files.readAllLines(Paths.get(Objects.requireNonNull(resource).toURI())).subList(0, 1000);
+
+        BatchSolver.Builder batchSolver = new BatchSolver.Builder();
+        batchSolver.setOrdered(true);
+        BatchResult<List<String>> result = batchSolver.build().solveSudokus(sudokus);
+
+        assertThat(result.getResults()).hasSize(1000).allSatisfy(solutions -> assertThat(solutions).hasSize(1));
+        // givens are kept, so the order is the input order
+        for (int i = 0; i < sudokus.size(); i++) {
+            assertKeepsGivens(sudokus.get(i), result.getResults().get(i).get(0));
+        }
+        assertThat(result.getLatency(50)).isLessThanOrEqualTo(result.getLatency(99));
+    }
+
+    private static void assertKeepsGivens(final String sudoku, final String solution) {
+        for (int cell = 0; cell < 81; cell++) {
+            if (sudoku.charAt(cell) != '0') {
+                assertThat(solution.charAt(cell)).isEqualTo(sudoku.charAt(cell));
+            }
+        }
+    }
+
     private String solveStandardSudoku(final String sudokuProblem) {
         Sudoku sudoku = new Sudoku(sudokuProblem);
         List<String> sudokuSolutions = sudoku.solve(DFS);
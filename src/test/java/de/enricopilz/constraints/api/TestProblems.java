@@ -0,0 +1,21 @@
+package de.enricopilz.constraints.api;
+
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/** Problems used by the tests of several solvers */
+public final class TestProblems {
+
+    private TestProblems() {
+    }
+
+    /** variables 1 to n with the values 1 to n, all different: n! solutions */
+    public static Problem<Integer> permutations(final int n) {
+        Problem.Builder<Integer> problem = new Problem.Builder<>();
+        List<Integer> symbols = IntStream.rangeClosed(1, n).boxed().collect(Collectors.toList());
+        problem.addVariables(symbols, symbols);
+        problem.addAllDifferentConstraint(symbols);
+        return problem.build();
+    }
+}
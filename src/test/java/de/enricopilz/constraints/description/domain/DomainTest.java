@@ -0,0 +1,136 @@
+package de.enricopilz.constraints.description.domain;
+
+import org.junit.Test;
+
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class DomainTest {
+
+    @Test
+    public void choosesImplementationByRange() {
+        assertThat(Domain.of(List.of(1, 2, 9))).isInstanceOf(LongDomain.class);
+        assertThat(Domain.of(List.of(-5, 58))).isInstanceOf(LongDomain.class);
+        assertThat(Domain.of(List.of(0, 64))).isInstanceOf(BitSetDomain.class);
+        assertThat(Domain.of(List.of(0, Domain.MAX_BITSET_SPAN))).isInstanceOf(ListDomain.class);
+        assertThat(Domain.of(IntStream.rangeClosed(0, Domain.MAX_BITSET_SPAN).boxed().collect(Collectors.toList())))
+                .isInstanceOf(IntervalDomain.class);
+        assertThat(Domain.range(0, 1_000_000)).isInstanceOf(IntervalDomain.class);
+    }
+
+    @Test
+    public void allImplementationsBehaveAlike() {
+        final List<Integer> values = List.of(3, 5, 7, 11);
+        for (Domain domain : List.of(new LongDomain(3, values), new BitSetDomain(3, 200, values), new ListDomain(values),
+                new IntervalDomain(3, 11, new int[]{4, 6, 8, 9, 10}, 5))) {
+            // GIVEN domain 3, 5, 7, 11
+            assertThat(domain.size()).isEqualTo(4);
+            assertThat(domain.contains(5)).isTrue();
+            assertThat(domain.contains(4)).isFalse();
+            assertThat(domain.contains(300)).isFalse();
+            // WHEN removing values
+            assertThat(domain.remove(5)).isTrue();
+            assertThat(domain.remove(5)).isFalse();
+            assertThat(domain.removeIf(v -> v > 10)).isEqualTo(1);
+            // THEN
+            assertThat(domain.toArray()).containsExactly(3, 7);
+            assertThat(domain.min()).isEqualTo(3);
+            assertThat(domain.max()).isEqualTo(7);
+            // copies are independent
+            final Domain copy = domain.copy();
+            copy.assign(7);
+            assertThat(copy.isSingleton()).isTrue();
+            assertThat(domain.size()).isEqualTo(2);
+            // assigning an impossible value empties the domain
+            domain.assign(4);
+            assertThat(domain.isEmpty()).isTrue();
+        }
+    }
+
+    @Test
+    public void allImplementationsRemoveBelowAndAbove() {
+        final List<Integer> values = List.of(3, 5, 7, 11, 12);
+        for (Domain domain : List.of(new LongDomain(3, values), new BitSetDomain(3, 200, values), new ListDomain(values),
+                new IntervalDomain(3, 12, new int[]{4, 6, 8, 9, 10}, 5))) {
+            // GIVEN domain 3, 5, 7, 11, 12
+            // WHEN removing the values below 4 and above 11
+            assertThat(domain.removeBelow(4)).isEqualTo(1);
+            assertThat(domain.removeAbove(11)).isEqualTo(1);
+            assertThat(domain.removeBelow(-100)).isZero();
+            assertThat(domain.removeAbove(100)).isZero();
+            // THEN
+            assertThat(domain.toArray()).containsExactly(5, 7, 11);
+            assertThat(domain.min()).isEqualTo(5);
+            assertThat(domain.max()).isEqualTo(11);
+            // everything removed
+            assertThat(domain.removeAbove(4)).isEqualTo(3);
+            assertThat(domain.isEmpty()).isTrue();
+        }
+    }
+
+    @Test
+    public void allImplementationsWriteValuesToTarget() {
+        final List<Integer> values = List.of(3, 5, 7, 11);
+        for (Domain domain : List.of(new LongDomain(3, values), new BitSetDomain(3, 200, values), new ListDomain(values),
+                new IntervalDomain(3, 11, new int[]{4, 6, 8, 9, 10}, 5))) {
+            // GIVEN domain 3, 5, 7, 11 and a target with other values
+            final int[] target = {-1, -1, -1, -1, -1, -1};
+            // WHEN writing the values behind the first position
+            final int written = domain.toArray(target, 1);
+            // THEN the other positions are kept
+            assertThat(written).as(domain.getClass().getSimpleName()).isEqualTo(4);
+            assertThat(target).containsExactly(-1, 3, 5, 7, 11, -1);
+        }
+    }
+
+    @Test
+    public void intervalDomainStoresOnlyBoundsAndHoles() {
+        // GIVEN the values 0 to one million
+        final Domain domain = Domain.range(0, 1_000_000);
+        // WHEN removing single values and bounds
+        domain.remove(500);
+        domain.remove(0);
+        domain.remove(1);
+        domain.removeBelow(499);
+        domain.removeAbove(600);
+        // THEN the hole is skipped
+        assertThat(domain.min()).isEqualTo(499);
+        assertThat(domain.max()).isEqualTo(600);
+        assertThat(domain.size()).isEqualTo(101);
+        assertThat(domain.contains(500)).isFalse();
+        assertThat(domain.contains(501)).isTrue();
+        // removing the minimum moves it behind the hole
+        domain.remove(499);
+        assertThat(domain.min()).isEqualTo(501);
+        final Domain copy = domain.copy();
+        copy.removeIf(v -> v % 2 == 1);
+        assertThat(copy.toArray()).hasSize(50).startsWith(502, 504);
+        assertThat(domain.size()).isEqualTo(100);
+    }
+
+    @Test
+    public void intervalDomainRemovesExtremeValues() {
+        // GIVEN the largest and the smallest int as only value
+        final Domain largest = Domain.range(Integer.MAX_VALUE - 100, Integer.MAX_VALUE);
+        largest.removeBelow(Integer.MAX_VALUE);
+        final Domain smallest = Domain.range(Integer.MIN_VALUE, Integer.MIN_VALUE + 100);
+        smallest.removeAbove(Integer.MIN_VALUE);
+        // WHEN removing it
+        assertThat(largest.remove(Integer.MAX_VALUE)).isTrue();
+        assertThat(smallest.remove(Integer.MIN_VALUE)).isTrue();
+        // THEN the domains are empty
+        assertThat(largest.isEmpty()).isTrue();
+        assertThat(smallest.isEmpty()).isTrue();
+    }
+
+    @Test
+    public void bitSetDomainSpansSeveralWords() {
+        final Domain domain = Domain.of(IntStream.range(0, 200).boxed().collect(Collectors.toList()));
+        domain.removeIf(v -> v % 64 != 63);
+        assertThat(domain.values()).containsExactly(63, 127, 191);
+        assertThat(domain.max()).isEqualTo(191);
+    }
+}
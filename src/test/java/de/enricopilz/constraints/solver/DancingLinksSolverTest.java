@@ -0,0 +1,67 @@
+package de.enricopilz.constraints.solver;
+
+import de.enricopilz.constraints.api.Problem;
+import de.enricopilz.constraints.api.Solution;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static de.enricopilz.constraints.api.TestProblems.permutations;
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class DancingLinksSolverTest {
+
+    @Test(expected = IllegalArgumentException.class)
+    public void rejectsBinaryConstraints() {
+        // GIVEN problem with a binary constraint
+        Problem.Builder<Integer> problem = new Problem.Builder<>();
+        problem.addVariables(List.of(1, 2), List.of(1, 2));
+        problem.addIntConstraint(1, 2, (a, b) -> a < b);
+        // WHEN instantiating the solver
+        new DancingLinksSolver<>(problem.build());
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void optimizeNeedsObjective() {
+        // GIVEN a problem with all different constraint only
+        Problem.Builder<Integer> problem = new Problem.Builder<>();
+        problem.addVariables(List.of(1, 2), List.of(1, 2));
+        problem.addAllDifferentConstraint(List.of(1, 2));
+        // WHEN optimizing, like the other solvers without objective
+        new DancingLinksSolver<>(problem.build()).optimize();
+    }
+
+    @Test
+    public void countsPermutations() {
+        // GIVEN all permutations of 5 values
+        Problem<Integer> problem = permutations(5);
+        // WHEN counting the solutions
+        long count = new DancingLinksSolver<>(problem).countSolutions();
+        // THEN 5!
+        assertThat(count).isEqualTo(120);
+        assertThat(new DancingLinksSolver<>(problem).countSolutions(2)).isEqualTo(2);
+    }
+
+    @Test
+    public void findsSameSolutionsAsDeepFirstSearch() {
+        // GIVEN 3 different variables with 4 values, one of them odd, and a free variable
+        Problem.Builder<Integer> problem = new Problem.Builder<>();
+        problem.addVariables(List.of(1, 2, 3, 4), List.of(1, 2, 3, 4));
+        problem.addAllDifferentConstraint(List.of(1, 2, 3));
+        problem.addIntConstraint(1, a -> a % 2 == 1);
+        Problem<Integer> built = problem.build();
+        // WHEN solving with both solvers
+        Set<List<Integer>> dlx = values(new DancingLinksSolver<>(built).solve());
+        Set<List<Integer>> dfs = values(new DeepFirstSearchSolver<>(built).solve());
+        // THEN 2 * 3 * 2 different values times 4 free values
+        assertThat(dlx).hasSize(48).isEqualTo(dfs);
+    }
+
+    private static Set<List<Integer>> values(final List<Solution<Integer>> solutions) {
+        return solutions.stream()
+                .map(solution -> List.of(solution.getValue(1), solution.getValue(2), solution.getValue(3), solution.getValue(4)))
+                .collect(Collectors.toSet());
+    }
+}
@@ -3,10 +3,29 @@ package de.enricopilz.constraints.solver;
 import de.enricopilz.constraints.api.Problem;
 import de.enricopilz.constraints.api.Solution;
 import de.enricopilz.constraints.api.Solver;
+import de.enricopilz.constraints.api.SolverConfiguration;
+import de.enricopilz.constraints.api.SolverConfiguration.Backtracking;
+import de.enricopilz.constraints.api.SolverConfiguration.Restarts;
+import de.enricopilz.constraints.api.SolverConfiguration.ValueSelection;
+import de.enricopilz.constraints.api.SolverConfiguration.VariableSelection;
+import de.enricopilz.constraints.api.SolverStatistics;
+import de.enricopilz.constraints.api.Termination;
+import de.enricopilz.constraints.description.constraint.LinearConstraint.Relation;
+import de.enricopilz.constraints.description.constraint.NaryConstraint.Propagation;
 import org.junit.Test;
 
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Optional;
+import java.util.Random;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
+import static de.enricopilz.constraints.api.TestProblems.permutations;
 import static org.assertj.core.api.Assertions.assertThat;
 
 public class DeepFirstSearchSolverTest {
@@ -58,4 +77,749 @@ public class DeepFirstSearchSolverTest {
         // THEN there are multiple solutions
         assertThat(solutions).hasSizeGreaterThan(1);
     }
+
+    @Test
+    public void canSolveProblemWithPrimitiveConstraints() {
+        // GIVEN problem with int predicates
+        Problem.Builder<Integer> problem = new Problem.Builder<>();
+        problem.addVariables(List.of(1, 2), List.of(1, 2, 3, 4));
+        problem.addIntConstraint(1, a -> a % 2 == 0);
+        problem.addIntConstraint(1, 2, (a, b) -> a + b == 5);
+        // WHEN solving the problem
+        List<Solution<Integer>> solutions = new DeepFirstSearchSolver<>(problem.build()).solve();
+        // THEN 2 + 3 and 4 + 1
+        assertThat(solutions).extracting(solution -> solution.getValue(2)).containsExactlyInAnyOrder(3, 1);
+    }
+
+    @Test
+    public void streamsSolutionsLazily() {
+        // GIVEN problem with 9^30 solutions
+        Problem.Builder<Integer> problem = new Problem.Builder<>();
+        problem.addVariables(IntStream.range(0, 30).boxed().collect(Collectors.toList()), List.of(1, 2, 3, 4, 5, 6, 7, 8, 9));
+        Solver<Integer> solver = new DeepFirstSearchSolver<>(problem.build());
+        // WHEN asking only for some solutions
+        // THEN the search stops early
+        assertThat(solver.stream().findFirst()).isPresent();
+        assertThat(solver.stream().limit(2).count()).isEqualTo(2);
+        Iterator<Solution<Integer>> iterator = solver.iterator();
+        assertThat(iterator.next()).isNotNull();
+        assertThat(iterator.hasNext()).isTrue();
+    }
+
+    @Test
+    public void detectsPigeonholeInAllDifferent() {
+        // GIVEN three variables with only two values, all different
+        Problem.Builder<Integer> problem = new Problem.Builder<>();
+        problem.addVariables(List.of(1, 2, 3), List.of(1, 2));
+        problem.addVariable(4, List.of(1, 2, 3));
+        problem.addAllDifferentConstraint(List.of(1, 2, 3));
+        // WHEN solving the problem
+        Solver<Integer> solver = new DeepFirstSearchSolver<>(problem.build());
+        List<Solution<Integer>> solutions = solver.solve();
+        // THEN no solution
+        assertThat(solutions).isEmpty();
+    }
+
+    @Test
+    public void allDifferentFindsHiddenSingle() {
+        // GIVEN only variable 3 can take the value 3
+        Problem.Builder<Integer> problem = new Problem.Builder<>();
+        problem.addVariables(List.of(1, 2), List.of(1, 2));
+        problem.addVariable(3, List.of(1, 2, 3));
+        problem.addAllDifferentConstraint(List.of(1, 2, 3));
+        // WHEN solving the problem
+        Solver<Integer> solver = new DeepFirstSearchSolver<>(problem.build());
+        List<Solution<Integer>> solutions = solver.solve();
+        // THEN 3 is assigned in both solutions
+        assertThat(solutions).hasSize(2);
+        assertThat(solutions).allSatisfy(solution -> assertThat(solution.getValue(3)).isEqualTo(3));
+    }
+
+    @Test
+    public void allDifferentHandlesLongAlternatingCycle() {
+        // GIVEN 20000 variables, each can take its own value or the one of its successor
+        int n = 20_000;
+        Problem.Builder<Integer> problem = new Problem.Builder<>();
+        for (int i = 0; i < n; i++) {
+            problem.addVariable(i, List.of(i, (i + 1) % n));
+        }
+        problem.addAllDifferentConstraint(IntStream.range(0, n).boxed().collect(Collectors.toList()));
+        // WHEN counting the solutions, the value graph is one cycle through all variables
+        long count = new DeepFirstSearchSolver<>(problem.build()).countSolutions();
+        // THEN all keep their value or all take the next one
+        assertThat(count).isEqualTo(2);
+    }
+
+    @Test
+    public void allDifferentOfLargeDomainsRemovesAssignedValues() {
+        // GIVEN three variables with ten million values and two of them fixed to 7
+        Problem.Builder<Integer> problem = new Problem.Builder<>();
+        problem.addVariables(List.of(1, 2, 3), 0, 10_000_000);
+        problem.addAllDifferentConstraint(List.of(1, 2, 3));
+        SolverConfiguration.Builder configuration = new SolverConfiguration.Builder();
+        configuration.setFirstSolutionOnly(true);
+        // WHEN solving it with and without the fixed values
+        List<Solution<Integer>> solutions = new DeepFirstSearchSolver<>(problem.build(), configuration.build()).solve();
+        problem.addIntConstraint(1, value -> value == 7);
+        problem.addIntConstraint(2, value -> value == 7);
+        List<Solution<Integer>> impossible = new DeepFirstSearchSolver<>(problem.build(), configuration.build()).solve();
+        // THEN the values of the first solution differ, without a value graph of all values
+        assertThat(solutions).hasSize(1);
+        Solution<Integer> solution = solutions.get(0);
+        assertThat(List.of(solution.getValue(1), solution.getValue(2), solution.getValue(3))).doesNotHaveDuplicates();
+        assertThat(impossible).isEmpty();
+    }
+
+    @Test
+    public void cloneAndTrailFindSameSolutions() {
+        // GIVEN problem with several solutions
+        Problem.Builder<Integer> problem = new Problem.Builder<>();
+        problem.addVariables(List.of(1, 2, 3), List.of(1, 2, 3, 4));
+        problem.addAllDifferentConstraint(List.of(1, 2, 3));
+        problem.addConstraint(1, 2, (a, b) -> a < b);
+        // WHEN solving with both kinds of backtracking
+        List<List<Integer>> cloned = valuesOf(new DeepFirstSearchSolver<>(problem.build(), configuration(Backtracking.CLONE)).solve());
+        List<List<Integer>> trailed = valuesOf(new DeepFirstSearchSolver<>(problem.build(), configuration(Backtracking.TRAIL)).solve());
+        // THEN the same solutions
+        assertThat(cloned).hasSize(12).doesNotHaveDuplicates();
+        assertThat(trailed).containsExactlyInAnyOrderElementsOf(cloned);
+    }
+
+    private static List<List<Integer>> valuesOf(final List<Solution<Integer>> solutions) {
+        return solutions.stream()
+                .map(solution -> List.of(solution.getValue(1), solution.getValue(2), solution.getValue(3)))
+                .collect(Collectors.toList());
+    }
+
+    @Test
+    public void everyVariableSelectionFindsAllSolutions() {
+        // GIVEN problem with several solutions
+        Problem.Builder<Integer> problem = new Problem.Builder<>();
+        problem.addVariables(List.of(1, 2, 3, 4), List.of(1, 2, 3, 4));
+        problem.addAllDifferentConstraint(List.of(1, 2, 3, 4));
+        problem.addConstraint(1, 4, (a, b) -> a + 1 == b);
+        for (VariableSelection selection : VariableSelection.values()) {
+            SolverConfiguration.Builder configuration = new SolverConfiguration.Builder();
+            configuration.setVariableSelection(selection);
+            // WHEN solving the problem
+            List<Solution<Integer>> solutions = new DeepFirstSearchSolver<>(problem.build(), configuration.build()).solve();
+            // THEN each of the 3 pairs for 1 and 4 with 2 orders of 2 and 3
+            assertThat(solutions).as(selection.name()).hasSize(6);
+        }
+    }
+
+    @Test
+    public void valueSelectionChangesOrderOfSolutions() {
+        // GIVEN problem, where x1 = 1 forbids x2 = 1
+        Problem.Builder<Integer> builder = new Problem.Builder<>();
+        builder.addVariables(List.of(1), List.of(1, 2));
+        builder.addVariables(List.of(2), List.of(1, 2, 3));
+        builder.addConstraint(1, 2, (x1, x2) -> x2 >= 3 - x1);
+        Problem<Integer> problem = builder.build();
+        // WHEN solving it with each value selection
+        List<List<Integer>> min = solutionOrder(problem, ValueSelection.MIN, 0L);
+        List<List<Integer>> random = solutionOrder(problem, ValueSelection.RANDOM, 42L);
+        // THEN the same solutions in a different order
+        assertThat(min).containsExactly(List.of(1, 2), List.of(1, 3), List.of(2, 1), List.of(2, 2), List.of(2, 3));
+        assertThat(solutionOrder(problem, ValueSelection.MAX, 0L))
+                .containsExactly(List.of(2, 3), List.of(2, 2), List.of(2, 1), List.of(1, 3), List.of(1, 2));
+        // x1 = 2 removes no value of x2
+        assertThat(solutionOrder(problem, ValueSelection.LEAST_CONSTRAINING, 0L))
+                .containsExactly(List.of(2, 1), List.of(2, 2), List.of(2, 3), List.of(1, 2), List.of(1, 3));
+        // x2 = 3 of the last solution is guessed first for x1 = 2
+        assertThat(solutionOrder(problem, ValueSelection.PHASE_SAVING, 0L))
+                .containsExactly(List.of(1, 2), List.of(1, 3), List.of(2, 3), List.of(2, 1), List.of(2, 2));
+        // the random order depends only on the seed
+        assertThat(random).containsExactlyInAnyOrderElementsOf(min);
+        assertThat(solutionOrder(problem, ValueSelection.RANDOM, 42L)).isEqualTo(random);
+    }
+
+    private static List<List<Integer>> solutionOrder(final Problem<Integer> problem, final ValueSelection selection,
+                                                     final long seed) {
+        SolverConfiguration.Builder configuration = new SolverConfiguration.Builder();
+        configuration.setValueSelection(selection);
+        configuration.setRandomSeed(seed);
+        return new DeepFirstSearchSolver<>(problem, configuration.build()).solve().stream()
+                .map(solution -> List.of(solution.getValue(1), solution.getValue(2)))
+                .collect(Collectors.toList());
+    }
+
+    @Test
+    public void collectsStatisticsOnlyIfEnabled() {
+        // GIVEN all permutations of 4 values
+        Problem<Integer> problem = permutations(4);
+        SolverConfiguration.Builder configuration = new SolverConfiguration.Builder();
+        configuration.setCollectStatistics(true);
+        // WHEN solving with and without statistics
+        Solver<Integer> solver = new DeepFirstSearchSolver<>(problem, configuration.build());
+        solver.solve();
+        Solver<Integer> withoutStatistics = new DeepFirstSearchSolver<>(problem);
+        withoutStatistics.solve();
+        // THEN the search tree is counted: choice points at depth 1 to 3, one guess per solution at the last level
+        SolverStatistics statistics = solver.getStatistics();
+        assertThat(statistics.getNodes()).isEqualTo(1 + 4 + 12);
+        assertThat(statistics.getGuesses()).isEqualTo(4 + 12 + 24);
+        assertThat(statistics.getMaxDepth()).isEqualTo(3);
+        assertThat(statistics.getFailures()).isZero();
+        assertThat(statistics.getValuesPruned()).isPositive();
+        assertThat(statistics.getConstraintChecks()).isPositive();
+        assertThat(withoutStatistics.getStatistics().getNodes()).isZero();
+    }
+
+    @Test
+    public void reportsCompleteSearch() {
+        // GIVEN all permutations of 4 values
+        Solver<Integer> solver = new DeepFirstSearchSolver<>(permutations(4));
+        // WHEN solving the problem
+        List<Solution<Integer>> solutions = solver.solve();
+        // THEN the search was not cut off
+        assertThat(solutions).hasSize(24);
+        assertThat(solver.getTermination()).isEqualTo(Termination.COMPLETE);
+    }
+
+    @Test
+    public void stopsAtSolutionLimit() {
+        // GIVEN all permutations of 4 values, but only 5 solutions wanted
+        SolverConfiguration.Builder configuration = new SolverConfiguration.Builder();
+        configuration.setMaxSolutions(5);
+        Solver<Integer> solver = new DeepFirstSearchSolver<>(permutations(4), configuration.build());
+        // WHEN solving the problem
+        List<Solution<Integer>> solutions = solver.solve();
+        // THEN the search is cut off
+        assertThat(solutions).hasSize(5);
+        assertThat(solver.getTermination()).isEqualTo(Termination.SOLUTION_LIMIT);
+    }
+
+    @Test
+    public void countsSolutionsWithEveryBacktracking() {
+        for (Backtracking backtracking : Backtracking.values()) {
+            // GIVEN the 8 queens problem
+            Solver<Integer> solver = new DeepFirstSearchSolver<>(queens(8), configuration(backtracking));
+            // WHEN counting the solutions
+            long count = solver.countSolutions();
+            // THEN the same number as solutions found
+            assertThat(count).isEqualTo(92);
+            assertThat(solver.getTermination()).isEqualTo(Termination.COMPLETE);
+        }
+    }
+
+    @Test
+    public void countingStopsAtLimit() {
+        // GIVEN all permutations of 4 values and a problem with exactly one solution
+        Solver<Integer> solver = new DeepFirstSearchSolver<>(permutations(4));
+        Problem.Builder<Integer> unique = new Problem.Builder<>();
+        unique.addVariables(List.of(1, 2), List.of(1, 2));
+        unique.addIntConstraint(1, 2, (a, b) -> a < b);
+        // WHEN counting up to 2 solutions
+        long count = solver.countSolutions(2);
+        // THEN the search stops after the second solution
+        assertThat(count).isEqualTo(2);
+        assertThat(solver.getTermination()).isEqualTo(Termination.SOLUTION_LIMIT);
+        assertThat(new DeepFirstSearchSolver<>(unique.build()).countSolutions(2)).isEqualTo(1);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void rejectsCountLimitBelowOne() {
+        new DeepFirstSearchSolver<>(permutations(3)).countSolutions(0);
+    }
+
+    @Test
+    public void stopsAtNodeLimit() {
+        // GIVEN all permutations of 4 values, but only 3 choice points allowed
+        SolverConfiguration.Builder configuration = new SolverConfiguration.Builder();
+        configuration.setMaxNodes(3);
+        Solver<Integer> solver = new DeepFirstSearchSolver<>(permutations(4), configuration.build());
+        // WHEN solving the problem
+        List<Solution<Integer>> solutions = solver.solve();
+        // THEN only the two solutions below the first choice point of the third level are found
+        assertThat(solutions).hasSize(2);
+        assertThat(solver.getTermination()).isEqualTo(Termination.NODE_LIMIT);
+    }
+
+    @Test
+    public void stopsAtTimeLimit() {
+        // GIVEN all 10! permutations of 10 values, which take much longer than the time limit
+        SolverConfiguration.Builder configuration = new SolverConfiguration.Builder();
+        configuration.setTimeLimit(Duration.ofMillis(50));
+        Solver<Integer> solver = new DeepFirstSearchSolver<>(permutations(10), configuration.build());
+        // WHEN solving the problem
+        List<Solution<Integer>> solutions = solver.solve();
+        // THEN the search is cut off
+        assertThat(solutions).hasSizeLessThan(3628800);
+        assertThat(solver.getTermination()).isEqualTo(Termination.TIME_LIMIT);
+    }
+
+    @Test
+    public void nodeLimitAllowsExactlyTheGivenNumberOfChoicePoints() {
+        // GIVEN all permutations of 4 values, which are found with 17 choice points
+        // WHEN / THEN the search with 17 nodes is complete and one node less stops it
+        assertThat(searchWithLimit(permutations(4), 17, Long.MAX_VALUE)).isEqualTo(Termination.COMPLETE);
+        assertThat(searchWithLimit(permutations(4), 16, Long.MAX_VALUE)).isEqualTo(Termination.NODE_LIMIT);
+    }
+
+    @Test
+    public void failureLimitAllowsExactlyTheGivenNumberOfFailures() {
+        // GIVEN the 6 queens problem and the number of failures of its complete search
+        SolverConfiguration.Builder configuration = new SolverConfiguration.Builder();
+        configuration.setCollectStatistics(true);
+        Solver<Integer> solver = new DeepFirstSearchSolver<>(queens(6), configuration.build());
+        solver.solve();
+        long failures = solver.getStatistics().getFailures();
+        assertThat(failures).isPositive();
+        // WHEN / THEN the search with as many failures is complete and one failure less stops it
+        assertThat(searchWithLimit(queens(6), Long.MAX_VALUE, failures)).isEqualTo(Termination.COMPLETE);
+        assertThat(searchWithLimit(queens(6), Long.MAX_VALUE, failures - 1)).isEqualTo(Termination.FAILURE_LIMIT);
+    }
+
+    private static Termination searchWithLimit(final Problem<Integer> problem, final long maxNodes, final long maxFailures) {
+        SolverConfiguration.Builder configuration = new SolverConfiguration.Builder();
+        configuration.setMaxNodes(maxNodes);
+        configuration.setMaxFailures(maxFailures);
+        Solver<Integer> solver = new DeepFirstSearchSolver<>(problem, configuration.build());
+        solver.solve();
+        return solver.getTermination();
+    }
+
+    @Test
+    public void timeLimitStartsWithTheSearch() throws InterruptedException {
+        // GIVEN a search with a time limit, which is created long before it runs
+        SolverConfiguration.Builder configuration = new SolverConfiguration.Builder();
+        configuration.setTimeLimit(Duration.ofMillis(50));
+        Solver<Integer> solver = new DeepFirstSearchSolver<>(permutations(4), configuration.build());
+        Iterator<Solution<Integer>> solutions = solver.iterator();
+        Thread.sleep(100);
+        // WHEN running the search
+        int count = 0;
+        while (solutions.hasNext()) {
+            solutions.next();
+            count++;
+        }
+        // THEN the time before the search is not counted
+        assertThat(count).isEqualTo(24);
+        assertThat(solver.getTermination()).isEqualTo(Termination.COMPLETE);
+    }
+
+    @Test
+    public void stopsIfInterrupted() {
+        // GIVEN an interrupted thread
+        Solver<Integer> solver = new DeepFirstSearchSolver<>(permutations(10));
+        Thread.currentThread().interrupt();
+        // WHEN solving the problem
+        List<Solution<Integer>> solutions = solver.solve();
+        // THEN the search is cancelled
+        assertThat(Thread.interrupted()).isTrue();
+        assertThat(solutions).isEmpty();
+        assertThat(solver.getTermination()).isEqualTo(Termination.INTERRUPTED);
+    }
+
+    @Test
+    public void backjumpingFindsSameSolutions() {
+        // GIVEN the 6 queens problem
+        Problem<Integer> problem = queens(6);
+        SolverConfiguration.Builder configuration = new SolverConfiguration.Builder();
+        configuration.setBackjumping(true);
+        configuration.setMaxNogoods(100);
+        // WHEN solving with and without backjumping
+        List<String> chronological = asStrings(new DeepFirstSearchSolver<>(problem).solve(), 6);
+        List<String> backjumping = asStrings(new DeepFirstSearchSolver<>(problem, configuration.build()).solve(), 6);
+        // THEN the same 4 solutions
+        assertThat(backjumping).hasSize(4).containsExactlyInAnyOrderElementsOf(chronological);
+    }
+
+    @Test
+    public void backjumpingSkipsIndependentDecisions() {
+        // GIVEN 6 unconstrained variables searched first, then 3 pairwise different variables with 2 values
+        Problem.Builder<Integer> problem = new Problem.Builder<>();
+        problem.addVariables(List.of(1, 2, 3, 4, 5, 6), List.of(1, 2, 3));
+        problem.addVariables(List.of(7, 8, 9), List.of(1, 2));
+        problem.addIntConstraint(7, 8, (a, b) -> a != b);
+        problem.addIntConstraint(8, 9, (a, b) -> a != b);
+        problem.addIntConstraint(7, 9, (a, b) -> a != b);
+        SolverConfiguration.Builder configuration = new SolverConfiguration.Builder();
+        configuration.setVariableSelection(VariableSelection.INPUT_ORDER);
+        configuration.setCollectStatistics(true);
+        Solver<Integer> chronological = new DeepFirstSearchSolver<>(problem.build(), configuration.build());
+        configuration.setBackjumping(true);
+        Solver<Integer> backjumping = new DeepFirstSearchSolver<>(problem.build(), configuration.build());
+        // WHEN solving the problem
+        List<Solution<Integer>> chronologicalSolutions = chronological.solve();
+        List<Solution<Integer>> backjumpingSolutions = backjumping.solve();
+        // THEN the failure of the last variables does not depend on the first ones, so they are not tried again
+        assertThat(chronologicalSolutions).isEmpty();
+        assertThat(backjumpingSolutions).isEmpty();
+        assertThat(chronological.getStatistics().getNodes()).isGreaterThan(729);
+        assertThat(backjumping.getStatistics().getNodes()).isLessThan(10);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void backjumpingNeedsTrail() {
+        // GIVEN backtracking with clones
+        SolverConfiguration.Builder configuration = new SolverConfiguration.Builder();
+        configuration.setBacktracking(Backtracking.CLONE);
+        configuration.setBackjumping(true);
+        // WHEN building the configuration
+        configuration.build();
+    }
+
+    @Test
+    public void restartsFindSameSolutions() {
+        // GIVEN the 8 queens problem and restarts after every failure until the first solution
+        Problem<Integer> problem = queens(8);
+        for (Backtracking backtracking : Backtracking.values()) {
+            for (Restarts restarts : List.of(Restarts.LUBY, Restarts.GEOMETRIC)) {
+                SolverConfiguration.Builder configuration = new SolverConfiguration.Builder();
+                configuration.setBacktracking(backtracking);
+                configuration.setVariableSelection(VariableSelection.DOM_WDEG);
+                configuration.setValueSelection(ValueSelection.RANDOM);
+                configuration.setRestarts(restarts);
+                configuration.setRestartCutoff(1);
+                configuration.setCollectStatistics(true);
+                Solver<Integer> solver = new DeepFirstSearchSolver<>(problem, configuration.build());
+                // WHEN solving the problem
+                List<String> solutions = asStrings(solver.solve(), 8);
+                // THEN all 92 solutions are found exactly once
+                assertThat(solutions).hasSize(92).doesNotHaveDuplicates();
+                assertThat(solver.getStatistics().getRestarts()).isPositive();
+                assertThat(solver.getTermination()).isEqualTo(Termination.COMPLETE);
+            }
+        }
+    }
+
+    @Test
+    public void restartsWithSameSeedFindSameFirstSolution() {
+        // GIVEN two solvers with restarts and the same seed
+        SolverConfiguration.Builder configuration = new SolverConfiguration.Builder();
+        configuration.setValueSelection(ValueSelection.RANDOM);
+        configuration.setRestarts(Restarts.LUBY);
+        configuration.setRestartCutoff(1);
+        configuration.setRandomSeed(42L);
+        configuration.setFirstSolutionOnly(true);
+        Problem<Integer> problem = queens(10);
+        // WHEN solving the problem with both
+        List<String> first = asStrings(new DeepFirstSearchSolver<>(problem, configuration.build()).solve(), 10);
+        List<String> second = asStrings(new DeepFirstSearchSolver<>(problem, configuration.build()).solve(), 10);
+        // THEN the search is reproducible
+        assertThat(first).hasSize(1).isEqualTo(second);
+    }
+
+    @Test
+    public void tableConstraintAllowsOnlyItsTuples() {
+        // GIVEN 4 variables with random allowed tuples
+        List<int[]> tuples = randomTuples(4, 4, 60, 1L);
+        Set<String> expected = new HashSet<>();
+        tuples.forEach(tuple -> expected.add(asString(tuple)));
+        for (Backtracking backtracking : Backtracking.values()) {
+            Problem<Integer> problem = tableProblem(tuples, true);
+            // WHEN solving the problem
+            List<Solution<Integer>> solutions = new DeepFirstSearchSolver<>(problem, configuration(backtracking)).solve();
+            // THEN exactly the tuples are solutions
+            assertThat(asStrings(solutions, 4)).hasSameSizeAs(expected).containsExactlyInAnyOrderElementsOf(expected);
+        }
+    }
+
+    @Test
+    public void tableConstraintForbidsItsTuples() {
+        // GIVEN 4 variables with random forbidden tuples
+        List<int[]> tuples = randomTuples(4, 4, 200, 2L);
+        Set<String> expected = new HashSet<>();
+        for (int i = 0; i < 256; i++) {
+            expected.add(asString(new int[]{i >> 6, (i >> 4) & 3, (i >> 2) & 3, i & 3}));
+        }
+        tuples.forEach(tuple -> expected.remove(asString(tuple)));
+        for (Backtracking backtracking : Backtracking.values()) {
+            Problem<Integer> problem = tableProblem(tuples, false);
+            // WHEN solving the problem
+            List<Solution<Integer>> solutions = new DeepFirstSearchSolver<>(problem, configuration(backtracking)).solve();
+            // THEN all other combinations are solutions
+            assertThat(asStrings(solutions, 4)).hasSameSizeAs(expected).containsExactlyInAnyOrderElementsOf(expected);
+        }
+    }
+
+    @Test
+    public void tableConstraintPrunesUnsupportedValues() {
+        // GIVEN a table, which allows only one value for the first variable
+        Problem.Builder<Integer> problem = new Problem.Builder<>();
+        problem.addVariables(List.of(1, 2, 3), List.of(1, 2, 3, 4, 5));
+        problem.addTableConstraint(List.of(1, 2, 3), List.of(new int[]{5, 1, 2}, new int[]{5, 2, 1}, new int[]{5, 3, 3}));
+        SolverConfiguration.Builder configuration = new SolverConfiguration.Builder();
+        configuration.setVariableSelection(VariableSelection.INPUT_ORDER);
+        configuration.setCollectStatistics(true);
+        Solver<Integer> solver = new DeepFirstSearchSolver<>(problem.build(), configuration.build());
+        // WHEN solving the problem
+        List<Solution<Integer>> solutions = solver.solve();
+        // THEN no guess fails, all unsupported values are removed before
+        assertThat(solutions).hasSize(3);
+        assertThat(solver.getStatistics().getFailures()).isZero();
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void rejectTupleOfWrongLength() {
+        // GIVEN two variables
+        Problem.Builder<Integer> problem = new Problem.Builder<>();
+        problem.addVariables(List.of(1, 2), List.of(1, 2));
+        // WHEN adding a tuple with three values
+        problem.addTableConstraint(List.of(1, 2), List.of(new int[]{1, 2, 3}));
+    }
+
+    @Test
+    public void naryConstraintFindsSameSolutionsWithEveryPropagation() {
+        // GIVEN a + b + c = d with b != c, searched in input order
+        Set<String> expected = new HashSet<>();
+        for (int i = 0; i < 256; i++) {
+            int[] values = {i >> 6, (i >> 4) & 3, (i >> 2) & 3, i & 3};
+            if (values[0] + values[1] + values[2] == values[3] && values[1] != values[2]) {
+                expected.add(asString(values));
+            }
+        }
+        for (Propagation propagation : Propagation.values()) {
+            for (Backtracking backtracking : Backtracking.values()) {
+                Problem.Builder<Integer> problem = new Problem.Builder<>();
+                problem.addVariables(List.of(0, 1, 2, 3), List.of(0, 1, 2, 3));
+                problem.addNaryConstraint(List.of(0, 1, 2, 3), values -> values[0] + values[1] + values[2] == values[3], propagation);
+                problem.addIntConstraint(1, 2, (b, c) -> b != c);
+                // WHEN solving the problem
+                List<Solution<Integer>> solutions = new DeepFirstSearchSolver<>(problem.build(), configuration(backtracking)).solve();
+                // THEN exactly the combinations fulfilling the predicate are solutions
+                assertThat(asStrings(solutions, 4)).hasSameSizeAs(expected).containsExactlyInAnyOrderElementsOf(expected);
+            }
+        }
+    }
+
+    @Test
+    public void naryConstraintWithGacPrunesBeforeGuessing() {
+        // GIVEN a + b + c = 12 with all values up to 4
+        SolverConfiguration.Builder configuration = new SolverConfiguration.Builder();
+        configuration.setCollectStatistics(true);
+        Solver<Integer> forwardChecking = new DeepFirstSearchSolver<>(sumProblem(Propagation.FORWARD_CHECKING), configuration.build());
+        Solver<Integer> gac = new DeepFirstSearchSolver<>(sumProblem(Propagation.GAC), configuration.build());
+        // WHEN solving the problem
+        List<Solution<Integer>> forwardCheckingSolutions = forwardChecking.solve();
+        List<Solution<Integer>> gacSolutions = gac.solve();
+        // THEN only forward checking has to guess
+        assertThat(forwardCheckingSolutions).hasSize(1);
+        assertThat(gacSolutions).hasSize(1);
+        assertThat(forwardChecking.getStatistics().getFailures()).isPositive();
+        assertThat(gac.getStatistics().getNodes()).isZero();
+    }
+
+    private static Problem<Integer> sumProblem(final Propagation propagation) {
+        Problem.Builder<Integer> problem = new Problem.Builder<>();
+        problem.addVariables(List.of(1, 2, 3), List.of(1, 2, 3, 4));
+        problem.addNaryConstraint(List.of(1, 2, 3), values -> values[0] + values[1] + values[2] == 12, propagation);
+        return problem.build();
+    }
+
+    @Test
+    public void linearConstraintFindsSameSolutionsAsPredicate() {
+        // GIVEN 2a - 3b + c (=, <=, >=) 2 with values from -2 to 3
+        int[] coefficients = {2, -3, 1};
+        for (Relation relation : Relation.values()) {
+            for (Backtracking backtracking : Backtracking.values()) {
+                Set<String> expected = new HashSet<>();
+                for (int a = -2; a <= 3; a++) {
+                    for (int b = -2; b <= 3; b++) {
+                        for (int c = -2; c <= 3; c++) {
+                            int sum = 2 * a - 3 * b + c;
+                            if (relation == Relation.EQUAL ? sum == 2 : relation == Relation.LESS_OR_EQUAL ? sum <= 2 : sum >= 2) {
+                                expected.add(a + "," + b + "," + c);
+                            }
+                        }
+                    }
+                }
+                Problem.Builder<Integer> problem = new Problem.Builder<>();
+                problem.addVariables(List.of(0, 1, 2), List.of(-2, -1, 0, 1, 2, 3));
+                problem.addLinearConstraint(List.of(0, 1, 2), coefficients, relation, 2);
+                // WHEN solving the problem
+                List<Solution<Integer>> solutions = new DeepFirstSearchSolver<>(problem.build(), configuration(backtracking)).solve();
+                // THEN exactly the combinations with the right sum are solutions
+                List<String> actual = solutions.stream()
+                        .map(solution -> solution.getValue(0) + "," + solution.getValue(1) + "," + solution.getValue(2))
+                        .collect(Collectors.toList());
+                assertThat(actual).hasSameSizeAs(expected).containsExactlyInAnyOrderElementsOf(expected);
+            }
+        }
+    }
+
+    @Test
+    public void sumConstraintPrunesBoundsBeforeGuessing() {
+        // GIVEN a cage of a killer sudoku: three different digits with sum 23, once as sum, once as predicate
+        SolverConfiguration.Builder configuration = new SolverConfiguration.Builder();
+        configuration.setCollectStatistics(true);
+        Solver<Integer> sum = new DeepFirstSearchSolver<>(cageProblem(true), configuration.build());
+        Solver<Integer> predicate = new DeepFirstSearchSolver<>(cageProblem(false), configuration.build());
+        // WHEN solving the problem
+        List<Solution<Integer>> sumSolutions = sum.solve();
+        List<Solution<Integer>> predicateSolutions = predicate.solve();
+        // THEN 6 + 8 + 9 is found with fewer guesses, because the digits below 5 are removed before guessing
+        assertThat(sumSolutions).hasSize(2).allMatch(solution -> solution.getValue(1) == 6);
+        assertThat(predicateSolutions).hasSize(2);
+        assertThat(sum.getStatistics().getGuesses()).isLessThan(predicate.getStatistics().getGuesses());
+    }
+
+    @Test
+    public void largeRangesAreReducedByBounds() {
+        // GIVEN three tasks starting within a horizon of a million, each after the end of the one before, all done by 10
+        Problem.Builder<String> problem = new Problem.Builder<>();
+        problem.addVariables(List.of("a", "b", "c"), 0, 1_000_000);
+        problem.addLinearConstraint(List.of("a", "b"), new int[]{1, -1}, Relation.LESS_OR_EQUAL, -5);
+        problem.addLinearConstraint(List.of("b", "c"), new int[]{1, -1}, Relation.LESS_OR_EQUAL, -3);
+        problem.addSumConstraint(List.of("c"), Relation.LESS_OR_EQUAL, 10);
+        for (Backtracking backtracking : Backtracking.values()) {
+            // WHEN solving the problem
+            List<Solution<String>> solutions = new DeepFirstSearchSolver<>(problem.build(), configuration(backtracking)).solve();
+            // THEN only the starts within the bounds are tried
+            assertThat(solutions).hasSize(10)
+                    .allMatch(solution -> solution.getValue("a") + 5 <= solution.getValue("b"))
+                    .allMatch(solution -> solution.getValue("b") + 3 <= solution.getValue("c"))
+                    .allMatch(solution -> solution.getValue("c") <= 10);
+        }
+    }
+
+    @Test
+    public void optimizeFindsBestSolutionWithImprovingSteps() {
+        // GIVEN a knapsack: 8 items, maximize the value with a weight of at most 20
+        int[] values = {10, 13, 7, 8, 15, 4, 9, 11};
+        int[] weights = {5, 7, 3, 4, 8, 2, 5, 6};
+        long best = 0;
+        for (int subset = 0; subset < 256; subset++) {
+            long value = 0;
+            long weight = 0;
+            for (int i = 0; i < 8; i++) {
+                if ((subset & (1 << i)) != 0) {
+                    value += values[i];
+                    weight += weights[i];
+                }
+            }
+            if (weight <= 20) {
+                best = Math.max(best, value);
+            }
+        }
+        for (Backtracking backtracking : Backtracking.values()) {
+            Problem<Integer> problem = knapsack(values, weights, 20);
+            List<Long> improvements = new ArrayList<>();
+            // WHEN optimizing
+            Solver<Integer> solver = new DeepFirstSearchSolver<>(problem, configuration(backtracking));
+            Optional<Solution<Integer>> solution = solver.optimize(
+                    improving -> improvements.add(problem.getObjective().orElseThrow().evaluate(improving)));
+            // THEN the best value is found, after strictly better solutions
+            assertThat(solution).isPresent();
+            assertThat(problem.getObjective().orElseThrow().evaluate(solution.get())).isEqualTo(best);
+            assertThat(improvements).isSorted().doesNotHaveDuplicates().last().isEqualTo(best);
+            assertThat(solver.getTermination()).isEqualTo(Termination.COMPLETE);
+        }
+    }
+
+    @Test
+    public void optimizeMinimizesVariable() {
+        // GIVEN all different values for 3 variables, the first one larger than the other ones
+        Problem.Builder<Integer> problem = new Problem.Builder<>();
+        problem.addVariables(List.of(1, 2, 3), List.of(1, 2, 3, 4, 5, 6));
+        problem.addAllDifferentConstraint(List.of(1, 2, 3));
+        problem.addIntConstraint(1, 2, (a, b) -> a > b);
+        problem.addIntConstraint(1, 3, (a, b) -> a > b);
+        problem.minimize(1);
+        SolverConfiguration.Builder configuration = new SolverConfiguration.Builder();
+        configuration.setValueSelection(ValueSelection.MAX);
+        // WHEN optimizing
+        Optional<Solution<Integer>> solution = new DeepFirstSearchSolver<>(problem.build(), configuration.build()).optimize();
+        // THEN the first variable is 3
+        assertThat(solution).isPresent();
+        assertThat(solution.get().getValue(1)).isEqualTo(3);
+    }
+
+    @Test
+    public void objectiveOutsideIntRangeKeepsAllSolutions() {
+        // GIVEN two variables, whose sum exceeds Integer.MAX_VALUE, and this sum as objective
+        Problem.Builder<Integer> problem = new Problem.Builder<>();
+        problem.addVariables(List.of(1, 2), List.of(1_500_000_000, 1_600_000_000));
+        problem.minimize(List.of(1, 2), new int[]{1, 1});
+        // WHEN solving and optimizing
+        Solver<Integer> solver = new DeepFirstSearchSolver<>(problem.build());
+        Optional<Solution<Integer>> best = solver.optimize();
+        // THEN the objective does not remove solutions, only the best one is kept
+        assertThat(solver.solve()).hasSize(4);
+        assertThat(best).isPresent();
+        assertThat(best.get().getValue(1)).isEqualTo(1_500_000_000);
+        assertThat(best.get().getValue(2)).isEqualTo(1_500_000_000);
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void optimizeNeedsObjective() {
+        // GIVEN a problem without objective
+        Problem<Integer> problem = permutations(3);
+        // WHEN optimizing
+        new DeepFirstSearchSolver<>(problem).optimize();
+    }
+
+    static Problem<Integer> knapsack(final int[] values, final int[] weights, final int capacity) {
+        Problem.Builder<Integer> problem = new Problem.Builder<>();
+        List<Integer> items = IntStream.range(0, values.length).boxed().collect(Collectors.toList());
+        problem.addVariables(items, List.of(0, 1));
+        problem.addLinearConstraint(items, weights, Relation.LESS_OR_EQUAL, capacity);
+        problem.maximize(items, values);
+        return problem.build();
+    }
+
+    private static Problem<Integer> cageProblem(final boolean sum) {
+        Problem.Builder<Integer> problem = new Problem.Builder<>();
+        problem.addVariables(List.of(1, 2, 3), List.of(1, 2, 3, 4, 5, 6, 7, 8, 9));
+        if (sum) {
+            problem.addSumConstraint(List.of(1, 2, 3), Relation.EQUAL, 23);
+        } else {
+            problem.addNaryConstraint(List.of(1, 2, 3), values -> values[0] + values[1] + values[2] == 23);
+        }
+        problem.addAllDifferentConstraint(List.of(1, 2, 3));
+        problem.addIntConstraint(1, value -> value < 8);
+        return problem.build();
+    }
+
+    private static Problem<Integer> tableProblem(final List<int[]> tuples, final boolean allowed) {
+        Problem.Builder<Integer> problem = new Problem.Builder<>();
+        List<Integer> symbols = List.of(0, 1, 2, 3);
+        problem.addVariables(symbols, List.of(0, 1, 2, 3));
+        if (allowed) {
+            problem.addTableConstraint(symbols, tuples);
+        } else {
+            problem.addForbiddenTuplesConstraint(symbols, tuples);
+        }
+        return problem.build();
+    }
+
+    private static List<int[]> randomTuples(final int arity, final int values, final int count, final long seed) {
+        Random random = new Random(seed);
+        List<int[]> tuples = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            tuples.add(random.ints(arity, 0, values).toArray());
+        }
+        return tuples;
+    }
+
+    private static String asString(final int[] tuple) {
+        return IntStream.of(tuple).mapToObj(String::valueOf).collect(Collectors.joining());
+    }
+
+    private static Problem<Integer> queens(final int n) {
+        Problem.Builder<Integer> problem = new Problem.Builder<>();
+        List<Integer> rows = IntStream.range(0, n).boxed().collect(Collectors.toList());
+        problem.addVariables(rows, rows);
+        for (int a = 0; a < n; a++) {
+            for (int b = a + 1; b < n; b++) {
+                final int distance = b - a;
+                problem.addIntConstraint(a, b, (x, y) -> x != y && Math.abs(x - y) != distance);
+            }
+        }
+        return problem.build();
+    }
+
+    private static List<String> asStrings(final List<Solution<Integer>> solutions, final int n) {
+        return solutions.stream()
+                .map(solution -> IntStream.range(0, n).mapToObj(i -> String.valueOf(solution.getValue(i))).collect(Collectors.joining()))
+                .collect(Collectors.toList());
+    }
+
+    private static SolverConfiguration configuration(final Backtracking backtracking) {
+        SolverConfiguration.Builder configuration = new SolverConfiguration.Builder();
+        configuration.setBacktracking(backtracking);
+        return configuration.build();
+    }
 }
@@ -0,0 +1,87 @@
+package de.enricopilz.constraints.solver;
+
+import de.enricopilz.constraints.api.ExactCoverProblem;
+import de.enricopilz.constraints.api.SolverConfiguration;
+import de.enricopilz.constraints.api.Termination;
+import org.junit.Test;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ExactCoverSolverTest {
+
+    /** example from Knuth, Dancing Links */
+    private static ExactCoverProblem<String> knuth() {
+        ExactCoverProblem.Builder<String> problem = new ExactCoverProblem.Builder<>();
+        for (int column = 1; column <= 7; column++) {
+            problem.addPrimaryColumn(column);
+        }
+        problem.addRow("A", List.of(1, 4, 7));
+        problem.addRow("B", List.of(1, 4));
+        problem.addRow("C", List.of(4, 5, 7));
+        problem.addRow("D", List.of(3, 5, 6));
+        problem.addRow("E", List.of(2, 3, 6, 7));
+        problem.addRow("F", List.of(2, 7));
+        return problem.build();
+    }
+
+    @Test
+    public void findsExactCover() {
+        // GIVEN the example of Knuth
+        // WHEN solving the problem
+        List<List<String>> solutions = new ExactCoverSolver<>(knuth()).stream().collect(Collectors.toList());
+        // THEN only B, D and F cover each column exactly once
+        assertThat(solutions).hasSize(1);
+        assertThat(solutions.get(0)).containsExactlyInAnyOrder("B", "D", "F");
+    }
+
+    @Test
+    public void secondaryColumnsMayStayUncovered() {
+        // GIVEN two primary columns and a secondary column shared by two rows
+        ExactCoverProblem.Builder<String> problem = new ExactCoverProblem.Builder<>();
+        problem.addPrimaryColumn("x");
+        problem.addPrimaryColumn("y");
+        problem.addSecondaryColumn("s");
+        problem.addRow("xs", List.of("x", "s"));
+        problem.addRow("ys", List.of("y", "s"));
+        problem.addRow("x", List.of("x"));
+        problem.addRow("y", List.of("y"));
+        // WHEN counting the solutions
+        long count = new ExactCoverSolver<>(problem.build()).countSolutions();
+        // THEN x+y, xs+y, x+ys, but not xs+ys
+        assertThat(count).isEqualTo(3);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void rejectsUnknownColumn() {
+        // GIVEN a problem with one column
+        ExactCoverProblem.Builder<String> problem = new ExactCoverProblem.Builder<>();
+        problem.addPrimaryColumn("x");
+        // WHEN adding a row with another column
+        problem.addRow("y", List.of("y"));
+    }
+
+    @Test
+    public void enumeratesLazilyUntilSolutionLimit() {
+        // GIVEN 8 independent columns, each covered by one of two rows, so 256 solutions
+        ExactCoverProblem.Builder<Integer> problem = new ExactCoverProblem.Builder<>();
+        for (int column = 0; column < 8; column++) {
+            problem.addPrimaryColumn(column);
+            problem.addRow(2 * column, List.of(column));
+            problem.addRow(2 * column + 1, List.of(column));
+        }
+        SolverConfiguration.Builder configuration = new SolverConfiguration.Builder();
+        configuration.setMaxSolutions(10);
+        ExactCoverSolver<Integer> solver = new ExactCoverSolver<>(problem.build(), configuration.build());
+        // WHEN taking the first solution
+        Iterator<List<Integer>> solutions = solver.iterator();
+        solutions.next();
+        // THEN the search waits for the next request
+        assertThat(solver.getTermination()).isEqualTo(Termination.PENDING);
+        assertThat(solver.countSolutions()).isEqualTo(10);
+        assertThat(solver.getTermination()).isEqualTo(Termination.SOLUTION_LIMIT);
+    }
+}
@@ -0,0 +1,73 @@
+package de.enricopilz.constraints.solver;
+
+import de.enricopilz.constraints.api.Problem;
+import de.enricopilz.constraints.description.Variables;
+import org.junit.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class NogoodsTest {
+
+    private static Variables<Integer> variables() {
+        Problem.Builder<Integer> problem = new Problem.Builder<>();
+        problem.addVariables(List.of(0, 1, 2, 3), List.of(0, 1, 2));
+        return problem.build().getCompiled().newVariables();
+    }
+
+    @Test
+    public void blocksOnlyIfAllOtherDecisionsHold() {
+        // GIVEN the nogood x0 = 1 and x1 = 1
+        Nogoods nogoods = new Nogoods(4, 10, 5);
+        nogoods.learn(new int[]{0, 1}, new int[]{1, 1});
+        Variables<Integer> variables = variables();
+        // WHEN x0 is not decided, decided differently or decided the same way
+        int[] undecided = nogoods.blocking(1, 1, variables);
+        variables.get(0).guessValue(2);
+        int[] different = nogoods.blocking(1, 1, variables);
+        variables = variables();
+        variables.get(0).guessValue(1);
+        // THEN only the last one blocks x1 = 1, but no other value
+        assertThat(undecided).isNull();
+        assertThat(different).isNull();
+        assertThat(nogoods.blocking(1, 1, variables)).containsExactly(0, 1);
+        assertThat(nogoods.blocking(1, 2, variables)).isNull();
+    }
+
+    @Test
+    public void evictsLongestThenLeastUsedNogood() {
+        // GIVEN space for 2 nogoods, a long and a short one
+        Nogoods nogoods = new Nogoods(4, 2, 5);
+        Variables<Integer> variables = variables();
+        variables.get(0).guessValue(1);
+        nogoods.learn(new int[]{0, 1}, new int[]{1, 1});
+        nogoods.learn(new int[]{2}, new int[]{1});
+        // WHEN learning another short one
+        nogoods.learn(new int[]{3}, new int[]{1});
+        // THEN the long one is evicted
+        assertThat(nogoods.blocking(1, 1, variables)).isNull();
+        assertThat(nogoods.blocking(2, 1, variables)).containsExactly(2);
+        assertThat(nogoods.blocking(2, 1, variables)).containsExactly(2);
+        // with the same length the least used one is evicted
+        nogoods.learn(new int[]{0}, new int[]{2});
+        assertThat(nogoods.blocking(3, 1, variables)).isNull();
+        assertThat(nogoods.blocking(2, 1, variables)).containsExactly(2);
+        assertThat(nogoods.blocking(0, 2, variables)).containsExactly(0);
+    }
+
+    @Test
+    public void dropsNogoodsLongerThanMaxSize() {
+        // GIVEN nogoods of at most 2 decisions and a stored one
+        Nogoods nogoods = new Nogoods(4, 1, 2);
+        Variables<Integer> variables = variables();
+        variables.get(0).guessValue(1);
+        variables.get(1).guessValue(1);
+        nogoods.learn(new int[]{3}, new int[]{1});
+        // WHEN learning one with 3 decisions
+        nogoods.learn(new int[]{0, 1, 2}, new int[]{1, 1, 1});
+        // THEN it is not kept and does not evict the stored one
+        assertThat(nogoods.blocking(2, 1, variables)).isNull();
+        assertThat(nogoods.blocking(3, 1, variables)).containsExactly(3);
+    }
+}
@@ -0,0 +1,179 @@
+package de.enricopilz.constraints.solver;
+
+import de.enricopilz.constraints.api.Problem;
+import de.enricopilz.constraints.api.Solution;
+import de.enricopilz.constraints.api.SolverConfiguration;
+import de.enricopilz.constraints.api.SolverConfiguration.VariableSelection;
+import de.enricopilz.constraints.api.Termination;
+import de.enricopilz.constraints.description.Objective;
+import org.junit.Test;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.Optional;
+
+import static de.enricopilz.constraints.api.TestProblems.permutations;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class ParallelDeepFirstSearchSolverTest {
+
+    @Test
+    public void optimizesWithBoundSharedByWorkers() {
+        // GIVEN a knapsack of 12 items
+        int[] values = {10, 13, 7, 8, 15, 4, 9, 11, 6, 12, 5, 14};
+        int[] weights = {5, 7, 3, 4, 8, 2, 5, 6, 3, 7, 2, 8};
+        Problem<Integer> problem = DeepFirstSearchSolverTest.knapsack(values, weights, 30);
+        SolverConfiguration.Builder configuration = new SolverConfiguration.Builder();
+        configuration.setParallelism(4);
+        configuration.setSequentialCutoff(2);
+        Objective<Integer> objective = problem.getObjective().orElseThrow();
+        // WHEN optimizing in parallel and sequentially
+        Optional<Solution<Integer>> parallel = new ParallelDeepFirstSearchSolver<>(problem, configuration.build()).optimize();
+        Optional<Solution<Integer>> sequential = new DeepFirstSearchSolver<>(problem).optimize();
+        // THEN both find the same best value
+        assertThat(parallel).isPresent();
+        assertThat(objective.evaluate(parallel.get())).isEqualTo(objective.evaluate(sequential.orElseThrow()));
+    }
+
+    @Test
+    public void findsSameSolutionsAsSequentialSearch() {
+        // GIVEN all permutations of 6 values
+        SolverConfiguration.Builder configuration = new SolverConfiguration.Builder();
+        configuration.setParallelism(4);
+        configuration.setSequentialCutoff(2);
+        // WHEN solving in parallel
+        List<Solution<Integer>> solutions = new ParallelDeepFirstSearchSolver<>(permutations(6), configuration.build()).solve();
+        // THEN 6! solutions
+        assertThat(solutions).hasSize(720);
+    }
+
+    @Test
+    public void workerSelectorKeepsWeightsOfSequentialSearches() {
+        // GIVEN a constraint between 3 and 4, which always fails, and the selector of a worker
+        Problem.Builder<Integer> builder = new Problem.Builder<>();
+        builder.addVariables(List.of(1, 2, 3, 4), List.of(1, 2, 3));
+        builder.addIntConstraint(1, 2, (a, b) -> a != b);
+        builder.addIntConstraint(3, 4, (a, b) -> false);
+        Problem<Integer> problem = builder.build();
+        SolverConfiguration.Builder configuration = new SolverConfiguration.Builder();
+        configuration.setVariableSelection(VariableSelection.DOM_WDEG);
+        VariableSelector<Integer> selector = VariableSelector.create(VariableSelection.DOM_WDEG,
+                new PropagationEngine<>(problem.getCompiled()), problem.getCompiled().newVariables());
+        // WHEN a sequential search of the worker fails
+        Search<Integer> search = new Search<>(problem, configuration.build(), problem.getCompiled().newVariables(), 0, selector);
+        assertThat(search.hasNext()).isFalse();
+        // THEN the selector prefers the variables of the failed constraint afterwards
+        selector.attach(problem.getCompiled().newVariables());
+        assertThat(selector.select(problem.getCompiled().newVariables()).getIndex()).isIn(2, 3);
+    }
+
+    @Test
+    public void domWdegFindsSameSolutionsAsSequentialSearch() {
+        // GIVEN all permutations of 6 values
+        SolverConfiguration.Builder configuration = new SolverConfiguration.Builder();
+        configuration.setParallelism(4);
+        configuration.setSequentialCutoff(2);
+        configuration.setVariableSelection(VariableSelection.DOM_WDEG);
+        // WHEN solving in parallel
+        List<Solution<Integer>> solutions = new ParallelDeepFirstSearchSolver<>(permutations(6), configuration.build()).solve();
+        // THEN all 6! solutions
+        assertThat(solutions.stream().map(Solution::toString).distinct()).hasSize(720);
+    }
+
+    @Test
+    public void stopsAfterFirstSolution() {
+        // GIVEN all permutations of 9 values
+        SolverConfiguration.Builder configuration = new SolverConfiguration.Builder();
+        configuration.setFirstSolutionOnly(true);
+        // WHEN solving in parallel
+        List<Solution<Integer>> solutions = new ParallelDeepFirstSearchSolver<>(permutations(9), configuration.build()).solve();
+        // THEN only one solution
+        assertThat(solutions).hasSize(1);
+    }
+
+    @Test
+    public void streamsSolutionsLazily() {
+        // GIVEN all permutations of 12 values, far too many to enumerate
+        SolverConfiguration.Builder configuration = new SolverConfiguration.Builder();
+        configuration.setParallelism(4);
+        ParallelDeepFirstSearchSolver<Integer> solver = new ParallelDeepFirstSearchSolver<>(permutations(12), configuration.build());
+        // WHEN taking the first solution
+        Optional<Solution<Integer>> first = solver.stream().findFirst();
+        // THEN the search waits for the consumer instead of running to the end
+        assertThat(first).isPresent();
+        assertThat(solver.getTermination()).isEqualTo(Termination.PENDING);
+    }
+
+    @Test
+    public void rethrowsExceptionOfWorker() {
+        // GIVEN a constraint, which throws for one pair of values
+        Problem.Builder<Integer> builder = new Problem.Builder<>();
+        builder.addVariables(List.of(1, 2, 3), List.of(1, 2, 3));
+        builder.addIntConstraint(1, 2, (a, b) -> {
+            if (a == 3 && b == 3) {
+                throw new IllegalStateException("broken constraint");
+            }
+            return true;
+        });
+        SolverConfiguration.Builder configuration = new SolverConfiguration.Builder();
+        configuration.setParallelism(4);
+        configuration.setSequentialCutoff(1);
+        ParallelDeepFirstSearchSolver<Integer> solver = new ParallelDeepFirstSearchSolver<>(builder.build(), configuration.build());
+        // WHEN / THEN solving, counting and iterating fail with the exception instead of ending early
+        assertThatThrownBy(solver::solve).isInstanceOf(IllegalStateException.class).hasMessage("broken constraint");
+        assertThat(solver.getTermination()).isNotEqualTo(Termination.COMPLETE);
+        assertThatThrownBy(solver::countSolutions).hasMessage("broken constraint");
+        assertThat(solver.getTermination()).isNotEqualTo(Termination.COMPLETE);
+        Iterator<Solution<Integer>> iterator = solver.iterator();
+        assertThatThrownBy(() -> {
+            while (iterator.hasNext()) {
+                iterator.next();
+            }
+        }).hasMessage("broken constraint");
+    }
+
+    @Test
+    public void sharesSolutionLimitBetweenWorkers() {
+        // GIVEN all permutations of 6 values, but only 5 solutions wanted
+        SolverConfiguration.Builder configuration = new SolverConfiguration.Builder();
+        configuration.setParallelism(4);
+        configuration.setSequentialCutoff(2);
+        configuration.setMaxSolutions(5);
+        // WHEN solving in parallel
+        ParallelDeepFirstSearchSolver<Integer> solver = new ParallelDeepFirstSearchSolver<>(permutations(6), configuration.build());
+        List<Solution<Integer>> solutions = solver.solve();
+        // THEN exactly 5 solutions
+        assertThat(solutions).hasSize(5);
+        assertThat(solver.getTermination()).isEqualTo(Termination.SOLUTION_LIMIT);
+    }
+
+    @Test
+    public void countsSolutionsOfAllWorkers() {
+        // GIVEN all permutations of 6 values
+        SolverConfiguration.Builder configuration = new SolverConfiguration.Builder();
+        configuration.setParallelism(4);
+        configuration.setSequentialCutoff(2);
+        ParallelDeepFirstSearchSolver<Integer> solver = new ParallelDeepFirstSearchSolver<>(permutations(6), configuration.build());
+        // WHEN counting in parallel
+        // THEN 6! solutions, or the limit
+        assertThat(solver.countSolutions()).isEqualTo(720);
+        assertThat(solver.countSolutions(100)).isEqualTo(100);
+        assertThat(solver.getTermination()).isEqualTo(Termination.SOLUTION_LIMIT);
+    }
+
+    @Test
+    public void sumsStatisticsOfAllWorkers() {
+        // GIVEN all permutations of 6 values
+        SolverConfiguration.Builder configuration = new SolverConfiguration.Builder();
+        configuration.setParallelism(4);
+        configuration.setSequentialCutoff(2);
+        configuration.setCollectStatistics(true);
+        // WHEN solving in parallel
+        ParallelDeepFirstSearchSolver<Integer> solver = new ParallelDeepFirstSearchSolver<>(permutations(6), configuration.build());
+        solver.solve();
+        // THEN a guess for every value at each of the 5 choice points of a permutation
+        assertThat(solver.getStatistics().getGuesses()).isEqualTo(6 + 30 + 120 + 360 + 720);
+        assertThat(solver.getStatistics().getMaxDepth()).isEqualTo(5);
+    }
+}
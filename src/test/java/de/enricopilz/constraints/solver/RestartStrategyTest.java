@@ -0,0 +1,79 @@
+package de.enricopilz.constraints.solver;
+
+import de.enricopilz.constraints.api.SolverConfiguration;
+import de.enricopilz.constraints.api.SolverConfiguration.Restarts;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class RestartStrategyTest {
+
+    @Test
+    public void computesLubySequence() {
+        // GIVEN the indices 1 to 15
+        // WHEN computing the Luby sequence
+        List<Long> sequence = IntStream.rangeClosed(1, 15).mapToObj(RestartStrategy::luby).collect(Collectors.toList());
+        // THEN each complete part is repeated and followed by the next power of 2
+        assertThat(sequence).containsExactly(1L, 1L, 2L, 1L, 1L, 2L, 4L, 1L, 1L, 2L, 1L, 1L, 2L, 4L, 8L);
+    }
+
+    @Test
+    public void restartsAfterLubyCutoffs() {
+        // GIVEN Luby restarts with a cutoff of 10 failures
+        RestartStrategy strategy = new RestartStrategy(configuration(Restarts.LUBY, 1.5));
+        // WHEN failing until 4 restarts happened
+        List<Integer> failures = failuresUntilRestarts(strategy, 4);
+        // THEN the cutoffs are multiples of the sequence
+        assertThat(failures).containsExactly(10, 10, 20, 10);
+    }
+
+    @Test
+    public void restartsAfterGeometricCutoffs() {
+        // GIVEN geometric restarts with a cutoff of 10 failures and a factor of 2
+        RestartStrategy strategy = new RestartStrategy(configuration(Restarts.GEOMETRIC, 2.0));
+        // WHEN failing until 4 restarts happened
+        List<Integer> failures = failuresUntilRestarts(strategy, 4);
+        // THEN the cutoff doubles each time
+        assertThat(failures).containsExactly(10, 20, 40, 80);
+    }
+
+    @Test
+    public void neverRestartsWithoutStrategy() {
+        // GIVEN no restarts
+        RestartStrategy strategy = new RestartStrategy(SolverConfiguration.defaults());
+        // WHEN failing very often
+        for (int i = 0; i < 100_000; i++) {
+            strategy.failure();
+        }
+        // THEN the search is never restarted
+        assertThat(strategy.restart()).isFalse();
+        assertThat(strategy.getRuns()).isZero();
+    }
+
+    private static List<Integer> failuresUntilRestarts(final RestartStrategy strategy, final int restarts) {
+        List<Integer> failures = new ArrayList<>();
+        int count = 0;
+        while (failures.size() < restarts) {
+            strategy.failure();
+            count++;
+            if (strategy.restart()) {
+                failures.add(count);
+                count = 0;
+            }
+        }
+        return failures;
+    }
+
+    private static SolverConfiguration configuration(final Restarts restarts, final double factor) {
+        SolverConfiguration.Builder configuration = new SolverConfiguration.Builder();
+        configuration.setRestarts(restarts);
+        configuration.setRestartCutoff(10);
+        configuration.setRestartFactor(factor);
+        return configuration.build();
+    }
+}
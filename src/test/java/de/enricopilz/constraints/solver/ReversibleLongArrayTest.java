@@ -0,0 +1,43 @@
+package de.enricopilz.constraints.solver;
+
+import de.enricopilz.constraints.api.Problem;
+import de.enricopilz.constraints.description.CompiledProblem;
+import org.junit.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ReversibleLongArrayTest {
+
+    @Test
+    public void trailRestoresValuesOfEachChoicePoint() {
+        // GIVEN an engine with trail and values set before the first choice point
+        Problem.Builder<Integer> problem = new Problem.Builder<>();
+        problem.addVariables(List.of(1, 2), List.of(1, 2));
+        CompiledProblem<Integer> compiled = problem.build().getCompiled();
+        PropagationEngine<Integer> engine = new PropagationEngine<>(compiled);
+        Trail<Integer> trail = new Trail<>(2, new SearchListener<>() {});
+        engine.attach(compiled.newVariables(), trail);
+        ReversibleLongArray array = new ReversibleLongArray(3);
+        array.set(engine, 0, 5L);
+        // WHEN changing values below two choice points, some of them twice
+        trail.push();
+        array.set(engine, 0, 6L);
+        array.set(engine, 0, 7L);
+        array.set(engine, 1, 1L);
+        trail.push();
+        array.set(engine, 0, 8L);
+        array.set(engine, 2, 3L);
+        // THEN going back restores the values of each choice point
+        trail.pop();
+        assertThat(new long[]{array.get(0), array.get(1), array.get(2)}).containsExactly(7L, 1L, 0L);
+        trail.pop();
+        assertThat(new long[]{array.get(0), array.get(1), array.get(2)}).containsExactly(5L, 0L, 0L);
+        // values changed at the same level again are saved again
+        trail.push();
+        array.set(engine, 0, 9L);
+        trail.pop();
+        assertThat(array.get(0)).isEqualTo(5L);
+    }
+}
@@ -0,0 +1,101 @@
+package de.enricopilz.constraints.solver;
+
+import de.enricopilz.constraints.api.Solution;
+import de.enricopilz.constraints.api.SolverConfiguration;
+import de.enricopilz.constraints.api.SolverConfiguration.Backtracking;
+import org.junit.Test;
+
+import java.util.Map;
+import java.util.Optional;
+
+import static de.enricopilz.constraints.api.TestProblems.permutations;
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class SolverSessionTest {
+
+    @Test
+    public void givensReduceSolutionsUntilPopped() {
+        // GIVEN all permutations of 5 values
+        SolverSession<Integer> session = new SolverSession<>(permutations(5));
+        assertThat(session.countSolutions(Long.MAX_VALUE)).isEqualTo(120);
+        // WHEN adding one given after another
+        session.push();
+        assertThat(session.assign(1, 3)).isTrue();
+        assertThat(session.countSolutions(Long.MAX_VALUE)).isEqualTo(24);
+        session.push();
+        assertThat(session.assign(2, 5)).isTrue();
+        assertThat(session.restrict(3, value -> value < 3)).isTrue();
+        // THEN the solutions respect all givens
+        assertThat(session.countSolutions(Long.MAX_VALUE)).isEqualTo(4);
+        assertThat(session.solve()).hasValueSatisfying(solution -> {
+            assertThat(solution.getValue(1)).isEqualTo(3);
+            assertThat(solution.getValue(2)).isEqualTo(5);
+        });
+        // popping restores the state of each scope
+        session.pop();
+        assertThat(session.countSolutions(Long.MAX_VALUE)).isEqualTo(24);
+        session.pop();
+        assertThat(session.countSolutions(Long.MAX_VALUE)).isEqualTo(120);
+        assertThat(session.getDepth()).isZero();
+    }
+
+    @Test
+    public void contradictionLastsUntilScopeIsPopped() {
+        // GIVEN all permutations of 4 values and a scope
+        SolverSession<Integer> session = new SolverSession<>(permutations(4));
+        session.push();
+        // WHEN two variables get the same value
+        session.assign(1, 2);
+        boolean consistent = session.assign(2, 2);
+        // THEN no solution, until the scope is popped
+        assertThat(consistent).isFalse();
+        assertThat(session.isConsistent()).isFalse();
+        assertThat(session.solve()).isEmpty();
+        session.pop();
+        assertThat(session.isConsistent()).isTrue();
+        assertThat(session.countSolutions(2)).isEqualTo(2);
+    }
+
+    @Test
+    public void assumptionsAreUndoneAfterSolving() {
+        // GIVEN all permutations of 4 values with a given
+        SolverSession<Integer> session = new SolverSession<>(permutations(4));
+        session.assign(1, 1);
+        // WHEN solving under assumptions
+        Optional<Solution<Integer>> solution = session.solve(Map.of(2, 4, 3, 2));
+        Optional<Solution<Integer>> impossible = session.solve(Map.of(2, 1));
+        // THEN the assumptions hold only for their query
+        assertThat(solution).hasValueSatisfying(s -> assertThat(s.getValue(4)).isEqualTo(3));
+        assertThat(impossible).isEmpty();
+        assertThat(session.countSolutions(Long.MAX_VALUE)).isEqualTo(6);
+    }
+
+    @Test
+    public void propagatesGivensWithoutGuessing() {
+        // GIVEN all permutations of 4 values
+        SolverConfiguration.Builder configuration = new SolverConfiguration.Builder();
+        configuration.setCollectStatistics(true);
+        SolverSession<Integer> session = new SolverSession<>(permutations(4), configuration.build());
+        session.countSolutions(Long.MAX_VALUE);
+        long guesses = session.getStatistics().getGuesses();
+        // WHEN three givens determine the last value
+        session.assign(1, 4);
+        session.assign(2, 3);
+        session.assign(3, 2);
+        // THEN the solution is found without another guess
+        assertThat(session.countSolutions(2)).isEqualTo(1);
+        assertThat(session.getStatistics().getGuesses()).isEqualTo(guesses);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void needsTrail() {
+        SolverConfiguration.Builder configuration = new SolverConfiguration.Builder();
+        configuration.setBacktracking(Backtracking.CLONE);
+        new SolverSession<>(permutations(3), configuration.build());
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void rejectsPopWithoutScope() {
+        new SolverSession<>(permutations(3)).pop();
+    }
+}
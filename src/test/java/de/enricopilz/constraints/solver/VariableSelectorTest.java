@@ -0,0 +1,83 @@
+package de.enricopilz.constraints.solver;
+
+import de.enricopilz.constraints.api.Problem;
+import de.enricopilz.constraints.api.SolverConfiguration.VariableSelection;
+import de.enricopilz.constraints.description.Variables;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class VariableSelectorTest {
+
+    // domain sizes 3, 2, 4, 4 and 2, 1, 3, 2 constraints per variable
+    private static Problem<Integer> problem() {
+        Problem.Builder<Integer> problem = new Problem.Builder<>();
+        problem.addVariables(List.of(1), List.of(1, 2, 3));
+        problem.addVariables(List.of(2), List.of(1, 2));
+        problem.addVariables(List.of(3, 4), List.of(1, 2, 3, 4));
+        problem.addIntConstraint(3, 4, (a, b) -> a != b);
+        problem.addIntConstraint(3, 1, (a, b) -> a != b);
+        problem.addIntConstraint(3, 2, (a, b) -> a != b);
+        problem.addIntConstraint(1, 4, (a, b) -> a != b);
+        return problem.build();
+    }
+
+    private static int selectedIndex(final VariableSelection selection) {
+        Problem<Integer> problem = problem();
+        Variables<Integer> variables = problem.getCompiled().newVariables();
+        VariableSelector<Integer> selector = VariableSelector.create(selection,
+                new PropagationEngine<>(problem.getCompiled()), variables);
+        return selector.select(variables).getIndex();
+    }
+
+    @Test
+    public void choosesVariableWithSmallestKey() {
+        // GIVEN variables with different domain sizes and degrees
+        // WHEN / THEN the first one, the smallest domain, the smallest ratio of domain size and degree 4 / 3
+        assertThat(selectedIndex(VariableSelection.INPUT_ORDER)).isEqualTo(0);
+        assertThat(selectedIndex(VariableSelection.SMALLEST_DOMAIN)).isEqualTo(1);
+        assertThat(selectedIndex(VariableSelection.DOM_DEG)).isEqualTo(2);
+        assertThat(selectedIndex(VariableSelection.DOM_WDEG)).isEqualTo(2);
+    }
+
+    @Test
+    public void followsDomainChanges() {
+        // GIVEN the smallest domain heuristic
+        Problem<Integer> problem = problem();
+        Variables<Integer> variables = problem.getCompiled().newVariables();
+        VariableSelector<Integer> selector = VariableSelector.create(VariableSelection.SMALLEST_DOMAIN,
+                new PropagationEngine<>(problem.getCompiled()), variables);
+        // WHEN the variable with the smallest domain is solved, and the last one shrinks afterwards
+        variables.get(1).guessValue(1);
+        selector.changed(variables.get(1));
+        int afterSolved = selector.select(variables).getIndex();
+        variables.get(3).removeIf(value -> value > 2);
+        selector.changed(variables.get(3));
+        // THEN the next smallest unsolved domain is chosen each time
+        assertThat(afterSolved).isZero();
+        assertThat(selector.select(variables).getIndex()).isEqualTo(3);
+    }
+
+    @Test
+    public void failuresIncreaseWeightsOnlyWithDomWdeg() {
+        for (VariableSelection selection : List.of(VariableSelection.DOM_DEG, VariableSelection.DOM_WDEG)) {
+            // GIVEN the selector of both degree heuristics
+            Problem<Integer> problem = problem();
+            Variables<Integer> variables = problem.getCompiled().newVariables();
+            PropagationEngine<Integer> engine = new PropagationEngine<>(problem.getCompiled());
+            VariableSelector<Integer> selector = VariableSelector.create(selection, engine, variables);
+            // WHEN the constraint between the first and the last variable fails
+            for (Propagator<Integer> propagator : engine.getPropagators()) {
+                if (Arrays.equals(propagator.getScope(), new int[]{0, 3})) {
+                    selector.failed(propagator);
+                }
+            }
+            // THEN with weights the first variable has the smallest ratio 3 / 3 now
+            assertThat(selector.select(variables).getIndex()).as(selection.name())
+                    .isEqualTo(selection == VariableSelection.DOM_WDEG ? 0 : 2);
+        }
+    }
+}